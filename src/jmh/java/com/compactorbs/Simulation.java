@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs;
+
+import static com.compactorbs.CompactOrbsConstants.ConfigGroup.GROUP_NAME;
+import com.compactorbs.CompactOrbsConstants.Script;
+import com.compactorbs.CompactOrbsConstants.Varbit;
+import com.compactorbs.CompactOrbsConstants.Widgets;
+import com.compactorbs.CompactOrbsConstants.Widgets.Orb;
+import com.compactorbs.fake.DisplayMode;
+import com.compactorbs.fake.FakeClient;
+import com.compactorbs.fake.FakeConfig;
+import com.compactorbs.fake.FakeWidget;
+import com.compactorbs.fake.HeadlessPlugin;
+import com.compactorbs.util.SetValue;
+import com.compactorbs.util.ValueKey;
+import com.compactorbs.widget.PropertyWriter;
+import com.compactorbs.widget.TargetWidget;
+import com.compactorbs.widget.WidgetCache;
+import com.compactorbs.widget.elements.Orbs;
+import com.compactorbs.widget.layout.edit.Binding;
+import com.compactorbs.widget.layout.edit.BindingManager;
+import com.compactorbs.widget.layout.edit.DragState;
+import com.compactorbs.widget.layout.edit.EditManager;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import net.runelite.api.GameState;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.ClientTick;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.VarClientIntChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.api.widgets.Widget;
+
+//drives the actual plugin through a headless session: startup, login, hops, display mode changes,
+//scripts, varbits, config changes and edit-mode drags, each step fires the events the client would
+//invokeLater work runs at the end of each tick, so call tick() after anything that doesn't already
+public class Simulation
+{
+	@Getter
+	private final HeadlessPlugin headless;
+
+	@Getter
+	private final CompactOrbsPlugin plugin;
+
+	@Getter
+	private final FakeClient client;
+
+	private final ClientTick clientTick = new ClientTick();
+	private final BeforeRender beforeRender = new BeforeRender();
+
+	//what a script does to the widgets before ScriptPostFired, see onScript
+	private final Map<Integer, Runnable> scripts = new HashMap<>();
+
+	//starts at the login screen, in @displayMode
+	public Simulation(FakeConfig config, DisplayMode displayMode)
+	{
+		headless = new HeadlessPlugin(config);
+		client = headless.getClient();
+		client.setDisplayMode(displayMode);
+		client.setGameState(GameState.LOGIN_SCREEN);
+
+		plugin = headless.get(CompactOrbsPlugin.class);
+		headless.getConfigManager().setListener(plugin::onConfigChanged);
+	}
+
+	public <T> T get(Class<T> type)
+	{
+		return headless.get(type);
+	}
+
+	public Simulation startUp() throws Exception
+	{
+		plugin.startUp();
+		return tick();
+	}
+
+	public Simulation shutDown() throws Exception
+	{
+		plugin.shutDown();
+		return tick();
+	}
+
+	//login screen -> logging in -> logged in, then the interfaces load
+	public Simulation login()
+	{
+		gameState(GameState.LOGGING_IN);
+		gameState(GameState.LOGGED_IN);
+		return loadInterfaces();
+	}
+
+	public Simulation hop()
+	{
+		gameState(GameState.HOPPING);
+		gameState(GameState.LOADING);
+		gameState(GameState.LOGGED_IN);
+		return loadInterfaces();
+	}
+
+	public Simulation logout()
+	{
+		gameState(GameState.LOGIN_SCREEN);
+		return tick();
+	}
+
+	//the toplevel is swapped out for the new one, recreating every widget
+	public Simulation displayMode(DisplayMode displayMode)
+	{
+		client.setDisplayMode(displayMode);
+		varbit(Varbit.RESIZABLE_STONE_ARRANGEMENT, displayMode.getArrangement());
+		script(Script.TOPLEVEL_SUBCHANGE);
+		return loadInterfaces();
+	}
+
+	//what loading into the game (or a new toplevel) fires, roughly in order
+	public Simulation loadInterfaces()
+	{
+		widgetLoaded(client.getDisplayMode().getGroupId());
+		widgetLoaded(Orb.UNIVERSE >> 16);
+		widgetLoaded(Widgets.MinimapOverlay.UNIVERSE >> 16);
+
+		script(Script.PROC_TOPLEVEL_SUBCHANGE);
+		script(Script.TOPLEVEL_REDRAW);
+		script(Script.TOPLEVEL_SIDE_CUSTOMIZE);
+		script(Script.ORBS_UPDATE_HEALTH);
+		script(Script.ORBS_UPDATE_SPECENERGY);
+		script(Script.ORBS_UPDATE_STORE);
+		script(Script.ORBS_UPDATE_ACTIVITY);
+		script(Script.WIKI_ICON_INIT);
+		script(Script.WORLD_MAP_UPDATE);
+		return tick();
+	}
+
+	public Simulation gameState(GameState gameState)
+	{
+		client.setGameState(gameState);
+
+		GameStateChanged event = new GameStateChanged();
+		event.setGameState(gameState);
+		plugin.onGameStateChanged(event);
+		return this;
+	}
+
+	public Simulation widgetLoaded(int groupId)
+	{
+		WidgetLoaded event = new WidgetLoaded();
+		event.setGroupId(groupId);
+		plugin.onWidgetLoaded(event);
+		return this;
+	}
+
+	public Simulation widgetClosed(int groupId)
+	{
+		plugin.onWidgetClosed(new WidgetClosed(groupId, 0, true));
+		return this;
+	}
+
+	public Simulation script(int scriptId)
+	{
+		vanillaScript(scriptId);
+
+		Runnable script = scripts.get(scriptId);
+		if (script != null)
+		{
+			script.run();
+		}
+
+		plugin.onScriptPostFired(new ScriptPostFired(scriptId));
+		return this;
+	}
+
+	//the targets the clients own scripts lay out, put back to their vanilla values before the plugin sees the script
+	//only the scripts the plugin answers with a remap, anything else would have the layout drift on the real client too
+	private void vanillaScript(int scriptId)
+	{
+		switch (scriptId)
+		{
+			case Script.TOPLEVEL_REDRAW:
+			case Script.TOPLEVEL_RESIZE_CUSTOMIZE:
+			case Script.PROC_TOPLEVEL_SUBCHANGE:
+			case Script.TOPLEVEL_SIDE_CUSTOMIZE:
+				//the logout-x sits on the modern side panel, laid out with it
+				if (client.getDisplayMode() == DisplayMode.MODERN)
+				{
+					resetTargets(Orbs.LOGOUT_X_STONE, Orbs.LOGOUT_X_ICON);
+				}
+				break;
+
+			case Script.ORBS_UPDATE_STORE:
+			case Script.ORBS_UPDATE_ACTIVITY:
+			case Script.WIKI_ICON_UPDATE:
+			case Script.WORLD_MAP_UPDATE:
+				resetTargets(Orbs.byScriptId(scriptId));
+				break;
+		}
+	}
+
+	//widgets the plugin hasn't looked up yet are left alone, they'd be created with their defaults anyway
+	private void resetTargets(TargetWidget... targets)
+	{
+		for (TargetWidget target : targets)
+		{
+			FakeWidget fake = client.getWidgets().get(target.getComponentId());
+			if (fake == null)
+			{
+				continue;
+			}
+
+			Widget widget = fake.getWidget();
+			if (target.getArrayId() != -1)
+			{
+				Widget[] children = widget.getChildren();
+				if (children == null || target.getArrayId() >= children.length)
+				{
+					continue;
+				}
+				widget = children[target.getArrayId()];
+			}
+
+			for (Map.Entry<ValueKey, SetValue> value : target.getValueMap().entrySet())
+			{
+				setValue(widget, value.getKey(), value.getValue().getOriginal());
+			}
+		}
+	}
+
+	private static void setValue(Widget widget, ValueKey key, int value)
+	{
+		switch (key)
+		{
+			case X:
+				widget.setOriginalX(value);
+				break;
+			case Y:
+				widget.setOriginalY(value);
+				break;
+			case WIDTH:
+				widget.setOriginalWidth(value);
+				break;
+			case HEIGHT:
+				widget.setOriginalHeight(value);
+				break;
+			case X_POSITION_MODE:
+				widget.setXPositionMode(value);
+				break;
+			case Y_POSITION_MODE:
+				widget.setYPositionMode(value);
+				break;
+			case WIDTH_MODE:
+				widget.setWidthMode(value);
+				break;
+			case HEIGHT_MODE:
+				widget.setHeightMode(value);
+				break;
+		}
+	}
+
+	//drops every cache the plugin keeps between events and lays the layout out again from the config and client state
+	public Simulation rebuild()
+	{
+		CompactOrbsManager manager = get(CompactOrbsManager.class);
+		manager.refreshConfigState();
+		manager.refreshClientState();
+		manager.invalidateLayout();
+		get(PropertyWriter.class).invalidate();
+		get(WidgetCache.class).invalidateAll();
+		manager.rebuildLayout();
+		return tick();
+	}
+
+	//runs @script on the widgets every time @scriptId fires, as the clients cs2 (or another plugin) would
+	public Simulation onScript(int scriptId, Runnable script)
+	{
+		scripts.put(scriptId, script);
+		return this;
+	}
+
+	public Simulation varbit(int varbitId, int value)
+	{
+		client.setVarbit(varbitId, value);
+
+		VarbitChanged event = new VarbitChanged();
+		event.setVarbitId(varbitId);
+		event.setValue(value);
+		plugin.onVarbitChanged(event);
+		return this;
+	}
+
+	public Simulation varcInt(int index, int value)
+	{
+		client.setVarcInt(index, value);
+		plugin.onVarClientIntChanged(new VarClientIntChanged(index));
+		return this;
+	}
+
+	//written through the config manager, which fires onConfigChanged
+	public Simulation config(String key, Object value)
+	{
+		headless.getConfigManager().set(GROUP_NAME, key, value);
+		return tick();
+	}
+
+	//one client tick and frame, with the end of tick invokeLater work in between
+	public Simulation tick()
+	{
+		plugin.onClientTick(clientTick);
+		headless.getClientThread().drain();
+		plugin.onBeforeRender(beforeRender);
+		return this;
+	}
+
+	public Simulation ticks(int ticks)
+	{
+		for (int i = 0; i < ticks; i++)
+		{
+			tick();
+		}
+		return this;
+	}
+
+	public Simulation editMode(boolean enabled)
+	{
+		get(EditManager.class).toggleEditMode(enabled);
+		return tick();
+	}
+
+	//the edit-mode handler bound to @target, or null when not editing it
+	public Widget handler(TargetWidget target)
+	{
+		CompactOrbsManager manager = get(CompactOrbsManager.class);
+		for (Binding binding : get(BindingManager.class).all())
+		{
+			if (binding.get(manager) == target)
+			{
+				return binding.getHandler();
+			}
+		}
+		return null;
+	}
+
+	//by the targets component id, as recorded in a trace
+	public Widget handler(int targetId)
+	{
+		CompactOrbsManager manager = get(CompactOrbsManager.class);
+		for (Binding binding : get(BindingManager.class).all())
+		{
+			if (binding.get(manager).getComponentId() == targetId)
+			{
+				return binding.getHandler();
+			}
+		}
+		return null;
+	}
+
+	//presses on @target's handler, moves it by @dx/@dy over @steps ticks and releases it
+	public Simulation drag(TargetWidget target, int dx, int dy, int steps)
+	{
+		Widget handler = handler(target);
+		if (handler == null)
+		{
+			throw new IllegalStateException("no edit-mode handler for " + target);
+		}
+
+		DragState dragState = get(DragState.class);
+		dragState.setOrigin(0, 0);
+		client.setMouseCurrentButton(1);
+		client.setDraggedWidget(handler);
+
+		for (int step = 1; step <= steps; step++)
+		{
+			dragState.setCurrent(dx * step / steps, dy * step / steps);
+			tick();
+		}
+
+		//the tick after the release finalizes the drag
+		client.setMouseCurrentButton(0);
+		client.setDraggedWidget(null);
+		client.setDraggedOnWidget(null);
+		return tick();
+	}
+}
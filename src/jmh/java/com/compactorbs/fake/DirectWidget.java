@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.fake;
+
+import java.awt.Rectangle;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.implementation.ExceptionMethod;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetPositionMode;
+
+//a widget with plain fields instead of a proxy, for measuring allocations: nothing is boxed or
+//put in an argument array on a call, so whatever a test sees allocated comes from the code under test
+//only the properties the drag path reads/writes are implemented, anything else throws
+public abstract class DirectWidget implements Widget
+{
+	private static final Class<? extends DirectWidget> TYPE = new ByteBuddy()
+		.subclass(DirectWidget.class)
+		.method(ElementMatchers.isAbstract())
+		.intercept(ExceptionMethod.throwing(UnsupportedOperationException.class))
+		.make()
+		.load(DirectWidget.class.getClassLoader())
+		.getLoaded();
+
+	private int id;
+	private Widget parent;
+	private Widget[] children;
+
+	private int originalX;
+	private int originalY;
+	private int originalWidth;
+	private int originalHeight;
+	private int xPositionMode;
+	private int yPositionMode;
+	private int relativeX;
+	private int relativeY;
+	private int opacity;
+	private int textColor;
+	private boolean hidden;
+
+	public static DirectWidget create(int id, Widget parent, int width, int height)
+	{
+		final DirectWidget widget;
+		try
+		{
+			widget = TYPE.getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		widget.id = id;
+		widget.parent = parent;
+		widget.originalWidth = width;
+		widget.originalHeight = height;
+		return widget;
+	}
+
+	//array children, as returned by getChild
+	public DirectWidget setChildren(Widget... children)
+	{
+		this.children = children;
+		return this;
+	}
+
+	@Override
+	public int getId()
+	{
+		return id;
+	}
+
+	@Override
+	public Widget getParent()
+	{
+		return parent;
+	}
+
+	@Override
+	public Widget getChild(int index)
+	{
+		return children != null && index < children.length ? children[index] : null;
+	}
+
+	@Override
+	public Widget[] getChildren()
+	{
+		return children;
+	}
+
+	@Override
+	public int getOriginalX()
+	{
+		return originalX;
+	}
+
+	@Override
+	public Widget setOriginalX(int originalX)
+	{
+		this.originalX = originalX;
+		return this;
+	}
+
+	@Override
+	public int getOriginalY()
+	{
+		return originalY;
+	}
+
+	@Override
+	public Widget setOriginalY(int originalY)
+	{
+		this.originalY = originalY;
+		return this;
+	}
+
+	@Override
+	public int getOriginalWidth()
+	{
+		return originalWidth;
+	}
+
+	@Override
+	public Widget setOriginalWidth(int originalWidth)
+	{
+		this.originalWidth = originalWidth;
+		return this;
+	}
+
+	@Override
+	public int getOriginalHeight()
+	{
+		return originalHeight;
+	}
+
+	@Override
+	public Widget setOriginalHeight(int originalHeight)
+	{
+		this.originalHeight = originalHeight;
+		return this;
+	}
+
+	@Override
+	public int getWidth()
+	{
+		return originalWidth;
+	}
+
+	@Override
+	public int getHeight()
+	{
+		return originalHeight;
+	}
+
+	@Override
+	public int getXPositionMode()
+	{
+		return xPositionMode;
+	}
+
+	@Override
+	public Widget setXPositionMode(int xPositionMode)
+	{
+		this.xPositionMode = xPositionMode;
+		return this;
+	}
+
+	@Override
+	public int getYPositionMode()
+	{
+		return yPositionMode;
+	}
+
+	@Override
+	public Widget setYPositionMode(int yPositionMode)
+	{
+		this.yPositionMode = yPositionMode;
+		return this;
+	}
+
+	@Override
+	public int getRelativeX()
+	{
+		return relativeX;
+	}
+
+	@Override
+	public int getRelativeY()
+	{
+		return relativeY;
+	}
+
+	//only the x position modes the layout uses, relative to the parent
+	@Override
+	public void revalidate()
+	{
+		relativeX = xPositionMode == WidgetPositionMode.ABSOLUTE_RIGHT && parent != null
+			? parent.getWidth() - originalX - originalWidth
+			: originalX;
+		relativeY = originalY;
+	}
+
+	@Override
+	public Rectangle getBounds()
+	{
+		final Rectangle bounds = parent != null ? parent.getBounds() : new Rectangle();
+		return new Rectangle(bounds.x + relativeX, bounds.y + relativeY, originalWidth, originalHeight);
+	}
+
+	@Override
+	public int getOpacity()
+	{
+		return opacity;
+	}
+
+	@Override
+	public Widget setOpacity(int opacity)
+	{
+		this.opacity = opacity;
+		return this;
+	}
+
+	@Override
+	public int getTextColor()
+	{
+		return textColor;
+	}
+
+	@Override
+	public Widget setTextColor(int textColor)
+	{
+		this.textColor = textColor;
+		return this;
+	}
+
+	@Override
+	public boolean isHidden()
+	{
+		return hidden;
+	}
+
+	@Override
+	public Widget setHidden(boolean hidden)
+	{
+		this.hidden = hidden;
+		return this;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.fake;
+
+import com.compactorbs.CompactOrbsConstants.Widgets.Classic;
+import com.compactorbs.CompactOrbsConstants.Widgets.Fixed;
+import com.compactorbs.CompactOrbsConstants.Widgets.Modern;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//the three toplevel interfaces the fake client can be in, with the canvas size and the ids the layout hangs off of
+@Getter
+@RequiredArgsConstructor
+public enum DisplayMode
+{
+	FIXED(765, 503, false, 0, Fixed.MAP_CONTAINER, Fixed.ORBS, Fixed.MINIMAP_MASK, -1),
+	CLASSIC(1280, 720, true, 0, Classic.MAP_CONTAINER, Classic.ORBS, Classic.MINIMAP_MASK, Classic.COMPASS_PARENT),
+	MODERN(1280, 720, true, 1, Modern.MAP_CONTAINER, Modern.ORBS, Modern.MINIMAP_MASK, Modern.COMPASS_PARENT);
+
+	private final int width;
+	private final int height;
+	private final boolean resized;
+
+	//Varbit.RESIZABLE_STONE_ARRANGEMENT
+	private final int arrangement;
+
+	private final int mapContainer;
+	private final int orbs;
+	private final int minimapMask;
+	private final int compassParent;
+
+	public int getGroupId()
+	{
+		return mapContainer >> 16;
+	}
+
+	//@arrangement - Varbit.RESIZABLE_STONE_ARRANGEMENT
+	public static DisplayMode of(boolean resized, int arrangement)
+	{
+		if (!resized)
+		{
+			return FIXED;
+		}
+		return arrangement == CLASSIC.arrangement ? CLASSIC : MODERN;
+	}
+}
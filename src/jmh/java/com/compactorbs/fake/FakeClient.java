@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.fake;
+
+import com.compactorbs.CompactOrbsConstants.Varbit;
+import com.compactorbs.CompactOrbsConstants.Widgets.Orb;
+import java.awt.Dimension;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.BufferProvider;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.widgets.Widget;
+
+//headless stand-in for the client, logged in and in classic resizable by default
+//widgets are created the first time they're looked up, parented the same way as the current display modes toplevel:
+//toplevel -> map container -> orbs -> orbs universe -> orb components, anything else hangs off the toplevel
+@Getter
+@Setter
+public class FakeClient implements InvocationHandler
+{
+	//starting size of the map container, and the orbs containers within it
+	public static final int MAP_WIDTH = 250;
+	public static final int MAP_HEIGHT = 200;
+
+	private final Client client;
+	private FakeWidget toplevel;
+	private DisplayMode displayMode;
+	private final Map<Integer, FakeWidget> widgets = new HashMap<>();
+	private final Map<Integer, Integer> varbits = new HashMap<>();
+	private final Map<Integer, Integer> varcInts = new HashMap<>();
+
+	//returned by getWidget in place of the FakeWidget, see DirectWidget
+	private final Map<Integer, Widget> replaced = new HashMap<>();
+
+	private GameState gameState = GameState.LOGGED_IN;
+	private boolean resized;
+	private int mouseCurrentButton;
+	private Widget draggedWidget;
+	private Widget draggedOnWidget;
+	private BufferProvider bufferProvider;
+
+	public FakeClient()
+	{
+		client = (Client) Proxy.newProxyInstance(
+			Client.class.getClassLoader(), new Class<?>[]{Client.class}, this);
+
+		setDisplayMode(DisplayMode.CLASSIC);
+	}
+
+	//swaps the toplevel, every widget is recreated on its next lookup (as they would be when the client reloads it)
+	//the caller fires the events that go with it (varbit/widget loaded/scripts)
+	public void setDisplayMode(DisplayMode displayMode)
+	{
+		this.displayMode = displayMode;
+		this.resized = displayMode.isResized();
+		varbits.put(Varbit.RESIZABLE_STONE_ARRANGEMENT, displayMode.getArrangement());
+
+		widgets.clear();
+		toplevel = new FakeWidget(displayMode.getGroupId() << 16, -1, null)
+			.set("OriginalWidth", displayMode.getWidth())
+			.set("OriginalHeight", displayMode.getHeight());
+	}
+
+	public FakeWidget widget(int componentId)
+	{
+		FakeWidget widget = widgets.get(componentId);
+		if (widget == null)
+		{
+			//not computeIfAbsent, the parent is looked up (and maybe created) first
+			int parentId = parentOf(componentId);
+			widget = new FakeWidget(componentId, -1, parentId == -1 ? toplevel : widget(parentId));
+
+			if (componentId == displayMode.getMapContainer()
+				|| parentId == displayMode.getMapContainer()
+				|| componentId == Orb.UNIVERSE)
+			{
+				widget.set("OriginalWidth", MAP_WIDTH).set("OriginalHeight", MAP_HEIGHT);
+			}
+
+			widgets.put(componentId, widget);
+		}
+		return widget;
+	}
+
+	public void replaceWidget(int componentId, Widget widget)
+	{
+		replaced.put(componentId, widget);
+	}
+
+	//every widget looked up so far, see FakeWidget.snapshot
+	public Map<String, Object> snapshot()
+	{
+		Map<String, Object> snapshot = new TreeMap<>();
+		for (Map.Entry<Integer, FakeWidget> widget : widgets.entrySet())
+		{
+			widget.getValue().snapshot(String.valueOf(widget.getKey()), snapshot);
+		}
+		return snapshot;
+	}
+
+	public void setVarbit(int varbit, int value)
+	{
+		varbits.put(varbit, value);
+	}
+
+	public void setVarcInt(int varc, int value)
+	{
+		varcInts.put(varc, value);
+	}
+
+	//-1 for the toplevel
+	private int parentOf(int componentId)
+	{
+		if (componentId == displayMode.getMapContainer())
+		{
+			return -1;
+		}
+
+		if (componentId == displayMode.getOrbs()
+			|| componentId == displayMode.getMinimapMask()
+			|| componentId == displayMode.getCompassParent())
+		{
+			return displayMode.getMapContainer();
+		}
+
+		if (componentId == Orb.UNIVERSE)
+		{
+			return displayMode.getOrbs();
+		}
+
+		if (componentId >> 16 == Orb.UNIVERSE >> 16)
+		{
+			return Orb.UNIVERSE;
+		}
+
+		return -1;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args)
+	{
+		switch (method.getName())
+		{
+			case "getWidget":
+				//getWidget(componentId) or getWidget(groupId, childId)
+				int id = args.length > 1 ? ((int) args[0] << 16) | (int) args[1] : (int) args[0];
+				Widget replacement = replaced.get(id);
+				return replacement != null ? replacement : widget(id).getWidget();
+			case "getVarbitValue":
+				return varbits.getOrDefault((int) args[0], 0);
+			case "getVarcIntValue":
+				return varcInts.getOrDefault((int) args[0], 0);
+			case "getGameState":
+				return gameState;
+			case "isResized":
+				return resized;
+			case "isClientThread":
+				return true;
+			case "getMouseCurrentButton":
+				return mouseCurrentButton;
+			case "getDraggedWidget":
+				return draggedWidget;
+			case "getDraggedOnWidget":
+				return draggedOnWidget;
+			case "getRealDimensions":
+				return new Dimension(displayMode.getWidth(), displayMode.getHeight());
+			case "getCanvasWidth":
+				return displayMode.getWidth();
+			case "getCanvasHeight":
+				return displayMode.getHeight();
+			case "getIntStack":
+				return new int[8];
+			case "getBufferProvider":
+				return bufferProvider;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "FakeClient";
+		}
+
+		return defaultValue(method.getReturnType());
+	}
+
+	static Object defaultValue(Class<?> type)
+	{
+		if (!type.isPrimitive() || type == void.class)
+		{
+			return null;
+		}
+		if (type == boolean.class)
+		{
+			return false;
+		}
+		if (type == long.class)
+		{
+			return 0L;
+		}
+		if (type == float.class)
+		{
+			return 0f;
+		}
+		if (type == double.class)
+		{
+			return 0d;
+		}
+		if (type == char.class)
+		{
+			return (char) 0;
+		}
+		if (type == byte.class)
+		{
+			return (byte) 0;
+		}
+		if (type == short.class)
+		{
+			return (short) 0;
+		}
+		return 0;
+	}
+}
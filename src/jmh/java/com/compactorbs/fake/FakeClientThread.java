@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.fake;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BooleanSupplier;
+import lombok.Getter;
+import net.runelite.client.callback.ClientThread;
+import static org.mockito.Mockito.mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+//everything is already on the client thread: invoke runs right away, invokeLater waits for the next drain (end of the tick)
+//a BooleanSupplier that returns false is retried on the next drain, like the real client thread
+public class FakeClientThread implements Answer<Object>
+{
+	@Getter
+	private final ClientThread clientThread = mock(ClientThread.class, this);
+
+	private final Deque<BooleanSupplier> pending = new ArrayDeque<>();
+
+	public boolean isEmpty()
+	{
+		return pending.isEmpty();
+	}
+
+	//runs what was queued before the call, anything queued while draining waits for the next one
+	public void drain()
+	{
+		for (int i = pending.size(); i > 0; i--)
+		{
+			BooleanSupplier task = pending.poll();
+			if (!task.getAsBoolean())
+			{
+				pending.add(task);
+			}
+		}
+	}
+
+	@Override
+	public Object answer(InvocationOnMock invocation)
+	{
+		final Object[] args = invocation.getArguments();
+		if (args.length != 1)
+		{
+			return FakeClient.defaultValue(invocation.getMethod().getReturnType());
+		}
+
+		final BooleanSupplier task = args[0] instanceof Runnable ? toSupplier((Runnable) args[0]) : (BooleanSupplier) args[0];
+		switch (invocation.getMethod().getName())
+		{
+			case "invoke":
+				if (!task.getAsBoolean())
+				{
+					pending.add(task);
+				}
+				break;
+			case "invokeLater":
+			case "invokeAtTickEnd":
+				pending.add(task);
+				break;
+		}
+		return null;
+	}
+
+	private static BooleanSupplier toSupplier(Runnable runnable)
+	{
+		return () ->
+		{
+			runnable.run();
+			return true;
+		};
+	}
+}
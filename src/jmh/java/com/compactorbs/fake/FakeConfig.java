@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.fake;
+
+import com.compactorbs.CompactOrbsConfig;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import net.runelite.client.config.ConfigItem;
+
+//config with the plugins defaults, unless overridden by method name (ex: set("layout", CompactOrbsLayout.CUSTOM))
+//or by key name, for writes coming through the fake config manager (ex: setItem("orbLayout", "CUSTOM"))
+public class FakeConfig implements InvocationHandler
+{
+	@Getter
+	private final CompactOrbsConfig config;
+
+	private final Map<String, Object> values = new HashMap<>();
+	private final Map<Method, MethodHandle> defaults = new HashMap<>();
+	private final Map<String, Method> items = new HashMap<>();
+
+	public FakeConfig()
+	{
+		config = (CompactOrbsConfig) Proxy.newProxyInstance(
+			CompactOrbsConfig.class.getClassLoader(), new Class<?>[]{CompactOrbsConfig.class}, this);
+
+		for (Method method : CompactOrbsConfig.class.getMethods())
+		{
+			ConfigItem item = method.getAnnotation(ConfigItem.class);
+			if (item != null)
+			{
+				items.put(item.keyName(), method);
+			}
+		}
+	}
+
+	public FakeConfig set(String method, Object value)
+	{
+		values.put(method, value);
+		return this;
+	}
+
+	//@value - null goes back to the default, strings are parsed into the items type
+	//@return false if @keyName isn't a config item (ex: saved positions)
+	public boolean setItem(String keyName, Object value)
+	{
+		Method method = items.get(keyName);
+		if (method == null)
+		{
+			return false;
+		}
+
+		if (value == null)
+		{
+			values.remove(method.getName());
+		}
+		else
+		{
+			values.put(method.getName(), value instanceof String ? parse(method.getReturnType(), (String) value) : value);
+		}
+		return true;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static Object parse(Class<?> type, String value)
+	{
+		if (type == String.class)
+		{
+			return value;
+		}
+		if (type == boolean.class || type == Boolean.class)
+		{
+			return Boolean.parseBoolean(value);
+		}
+		if (type == int.class || type == Integer.class)
+		{
+			return Integer.parseInt(value);
+		}
+		if (type.isEnum())
+		{
+			return Enum.valueOf((Class<? extends Enum>) type, value);
+		}
+		throw new IllegalArgumentException("unsupported config type " + type.getName() + " for " + value);
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+	{
+		final String name = method.getName();
+		if (values.containsKey(name))
+		{
+			return values.get(name);
+		}
+
+		switch (name)
+		{
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "FakeConfig" + values;
+		}
+
+		if (!method.isDefault())
+		{
+			return FakeClient.defaultValue(method.getReturnType());
+		}
+
+		MethodHandle handle = defaults.get(method);
+		if (handle == null)
+		{
+			handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+				.unreflectSpecial(method, method.getDeclaringClass())
+				.bindTo(proxy);
+			defaults.put(method, handle);
+		}
+
+		return args == null ? handle.invoke() : handle.invokeWithArguments(args);
+	}
+}
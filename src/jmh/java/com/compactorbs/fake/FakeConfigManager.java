@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.fake;
+
+import static com.compactorbs.CompactOrbsConstants.ConfigGroup.GROUP_NAME;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
+import static org.mockito.Mockito.mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+//in-memory config manager, values are kept as strings like the real one
+//writes to the plugins group update the fake config, and every change is passed on as a ConfigChanged event
+public class FakeConfigManager implements Answer<Object>
+{
+	@Getter
+	private final ConfigManager configManager = mock(ConfigManager.class, this);
+
+	private final FakeConfig config;
+	private final Map<String, String> values = new HashMap<>();
+
+	//ex: the plugins onConfigChanged
+	@Setter
+	private Consumer<ConfigChanged> listener;
+
+	@Getter
+	private int writes;
+
+	public FakeConfigManager(FakeConfig config)
+	{
+		this.config = config;
+	}
+
+	public String get(String group, String key)
+	{
+		return values.get(group + "." + key);
+	}
+
+	//a value that was already saved before the session, no event
+	public void load(String group, String key, String value)
+	{
+		values.put(group + "." + key, value);
+		if (group.equals(GROUP_NAME))
+		{
+			config.setItem(key, value);
+		}
+	}
+
+	public void set(String group, String key, Object value)
+	{
+		String newValue = value == null ? null : value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+		String oldValue = newValue == null ? values.remove(group + "." + key) : values.put(group + "." + key, newValue);
+		if (Objects.equals(oldValue, newValue))
+		{
+			return;
+		}
+
+		writes++;
+		if (group.equals(GROUP_NAME))
+		{
+			config.setItem(key, newValue);
+		}
+
+		if (listener != null)
+		{
+			ConfigChanged event = new ConfigChanged();
+			event.setGroup(group);
+			event.setKey(key);
+			event.setOldValue(oldValue);
+			event.setNewValue(newValue);
+			listener.accept(event);
+		}
+	}
+
+	@Override
+	public Object answer(InvocationOnMock invocation)
+	{
+		final Method method = invocation.getMethod();
+		final Object[] args = invocation.getArguments();
+
+		switch (method.getName())
+		{
+			case "getConfiguration":
+				String value = get((String) args[0], (String) args[1]);
+				if (args.length < 3 || value == null || !(args[2] instanceof Class))
+				{
+					return value;
+				}
+				return FakeConfig.parse((Class<?>) args[2], value);
+			case "setConfiguration":
+				set((String) args[0], (String) args[1], args[2]);
+				return null;
+			case "unsetConfiguration":
+				set((String) args[0], (String) args[1], null);
+				return null;
+			case "getConfig":
+				return config.getConfig();
+			case "getConfigurationKeys":
+				List<String> keys = new ArrayList<>();
+				for (String key : values.keySet())
+				{
+					if (key.startsWith((String) args[0]))
+					{
+						keys.add(key);
+					}
+				}
+				return keys;
+		}
+
+		return FakeClient.defaultValue(method.getReturnType());
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.fake;
+
+import java.awt.Rectangle;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import net.runelite.api.widgets.Widget;
+
+//headless stand-in for a client widget, properties are just stored and read back
+//setFoo(value) / getFoo() and isFoo() share the same property, anything else returns a default value
+public class FakeWidget implements InvocationHandler
+{
+	private static final Widget[] EMPTY = new Widget[0];
+
+	@Getter
+	private final Widget widget;
+
+	private final int id;
+	private final int index;
+	private final FakeWidget parent;
+	private final List<FakeWidget> children = new ArrayList<>();
+	private final Map<String, Object> properties = new HashMap<>();
+
+	public FakeWidget(int id, int index, FakeWidget parent)
+	{
+		this.id = id;
+		this.index = index;
+		this.parent = parent;
+		this.widget = (Widget) Proxy.newProxyInstance(
+			Widget.class.getClassLoader(), new Class<?>[]{Widget.class}, this);
+	}
+
+	public FakeWidget set(String property, Object value)
+	{
+		properties.put(property, value);
+		return this;
+	}
+
+	//plain values only (numbers, flags, text, enums) of this widget and its children, keyed by id:index:child...
+	//listeners and other objects are left out, they don't compare across sessions
+	public void snapshot(String key, Map<String, Object> into)
+	{
+		for (Map.Entry<String, Object> property : properties.entrySet())
+		{
+			Object value = property.getValue();
+			if (value instanceof Number || value instanceof Boolean || value instanceof String || value instanceof Enum)
+			{
+				into.put(key + "." + property.getKey(), value);
+			}
+		}
+
+		for (FakeWidget child : children)
+		{
+			child.snapshot(key + ":" + child.index, into);
+		}
+	}
+
+	public FakeWidget getChild(int index)
+	{
+		while (children.size() <= index)
+		{
+			children.add(new FakeWidget(id, children.size(), this));
+		}
+		return children.get(index);
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args)
+	{
+		final String name = method.getName();
+		final int argc = args == null ? 0 : args.length;
+
+		switch (name)
+		{
+			case "getId":
+				return id;
+			case "getIndex":
+				return index;
+			case "getParent":
+				return parent != null ? parent.widget : null;
+			case "getParentId":
+				return parent != null ? parent.id : -1;
+			case "getChild":
+				return getChild((int) args[0]).widget;
+			case "getChildren":
+			case "getDynamicChildren":
+				return children();
+			case "getStaticChildren":
+			case "getNestedChildren":
+				return EMPTY;
+			case "createChild":
+				//createChild(type) or createChild(index, type)
+				int childIndex = argc > 1 ? (int) args[0] : -1;
+				FakeWidget child = getChild(childIndex < 0 ? children.size() : childIndex);
+				child.set("Type", args[argc - 1]);
+				return child.widget;
+			case "deleteAllChildren":
+				children.clear();
+				return null;
+			case "isHidden":
+				return isSelfHidden() || (parent != null && (boolean) parent.invoke(parent.widget, method, args));
+			case "isSelfHidden":
+				return isSelfHidden();
+			case "getWidth":
+				return property("OriginalWidth", 0);
+			case "getHeight":
+				return property("OriginalHeight", 0);
+			case "getBounds":
+				return new Rectangle(
+					property("OriginalX", 0), property("OriginalY", 0),
+					property("OriginalWidth", 0), property("OriginalHeight", 0));
+			case "revalidate":
+			case "revalidateScroll":
+				return null;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "FakeWidget[" + id + ", " + index + "]";
+		}
+
+		if (name.startsWith("set") && argc == 1)
+		{
+			properties.put(name.substring(3), args[0]);
+			return method.getReturnType() == Widget.class ? proxy : null;
+		}
+
+		if (argc == 0 && (name.startsWith("get") || name.startsWith("is")))
+		{
+			Object value = properties.get(name.substring(name.startsWith("is") ? 2 : 3));
+			if (value != null)
+			{
+				return value;
+			}
+		}
+
+		return FakeClient.defaultValue(method.getReturnType());
+	}
+
+	private boolean isSelfHidden()
+	{
+		return property("Hidden", false);
+	}
+
+	private Widget[] children()
+	{
+		Widget[] widgets = new Widget[children.size()];
+		for (int i = 0; i < widgets.length; i++)
+		{
+			widgets[i] = children.get(i).widget;
+		}
+		return widgets;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T property(String property, T defaultValue)
+	{
+		Object value = properties.get(property);
+		return value != null ? (T) value : defaultValue;
+	}
+}
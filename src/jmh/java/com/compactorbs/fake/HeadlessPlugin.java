@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.fake;
+
+import com.compactorbs.CompactOrbsConfig;
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.widget.layout.HideOrbRegistry;
+import com.compactorbs.widget.layout.slot.SlotManager;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.concurrent.ScheduledExecutorService;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.chat.ChatMessageManager;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.input.KeyManager;
+import net.runelite.client.input.MouseManager;
+import net.runelite.client.ui.overlay.OverlayManager;
+import static org.mockito.Mockito.mock;
+
+//the plugins managers wired up against a fake client/config, without the rest of the runelite client
+//config writes are kept in memory and invokeLater waits for a drain, chat/overlays/input/executor are mocks
+public class HeadlessPlugin
+{
+	@Getter
+	private final FakeClient client;
+
+	@Getter
+	private final FakeConfig config;
+
+	@Getter
+	private final FakeConfigManager configManager;
+
+	@Getter
+	private final FakeClientThread clientThread;
+
+	private final Injector injector;
+
+	public HeadlessPlugin(FakeConfig config)
+	{
+		this.client = new FakeClient();
+		this.config = config;
+		this.configManager = new FakeConfigManager(config);
+		this.clientThread = new FakeClientThread();
+		this.injector = Guice.createInjector(new AbstractModule()
+		{
+			@Override
+			protected void configure()
+			{
+				bind(Client.class).toInstance(client.getClient());
+				bind(CompactOrbsConfig.class).toInstance(config.getConfig());
+				bind(ConfigManager.class).toInstance(configManager.getConfigManager());
+				bind(ClientThread.class).toInstance(clientThread.getClientThread());
+				bind(ChatMessageManager.class).toInstance(mock(ChatMessageManager.class));
+				bind(KeyManager.class).toInstance(mock(KeyManager.class));
+				bind(MouseManager.class).toInstance(mock(MouseManager.class));
+				bind(OverlayManager.class).toInstance(mock(OverlayManager.class));
+				bind(ScheduledExecutorService.class).toInstance(mock(ScheduledExecutorService.class));
+			}
+		});
+	}
+
+	public <T> T get(Class<T> type)
+	{
+		return injector.getInstance(type);
+	}
+
+	//same state the plugin is in after startUp, while logged in
+	public HeadlessPlugin start()
+	{
+		CompactOrbsConfig config = this.config.getConfig();
+		CompactOrbsManager manager = get(CompactOrbsManager.class);
+
+		get(HideOrbRegistry.class).registerAll();
+
+		manager.hideWorldMap = config.hideWorld();
+		manager.hideLogoutX = config.hideLogout();
+		manager.enableNoClickThrough = config.enableNoClickthrough();
+		manager.enableOrbSwapping = config.enableOrbSwapping();
+
+		manager.refreshConfigState();
+		manager.refreshClientState();
+		get(SlotManager.class).init();
+		manager.rebuildLayout();
+		return this;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.fake;
+
+import com.compactorbs.CompactOrbsConfig.HorizontalAnchor;
+import com.compactorbs.CompactOrbsConfig.VerticalAnchor;
+import com.compactorbs.CompactOrbsLayout;
+import com.compactorbs.widget.elements.Orbs;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+//every layout, both anchors, and every hidden/swapped combination of the swappable orbs
+//narrow it down with -p, ex: -p layout=VERTICAL -p hidden=0
+@State(Scope.Thread)
+public class LayoutMatrix
+{
+	@Param({"VERTICAL", "HORIZONTAL", "HORIZONTAL_WIDE", "CUSTOM"})
+	public CompactOrbsLayout layout;
+
+	@Param({"LEFT", "RIGHT"})
+	public HorizontalAnchor horizontalAnchor;
+
+	@Param({"TOP", "BOTTOM"})
+	public VerticalAnchor verticalAnchor;
+
+	//bitmask of hidden orbs - hp, prayer, run, spec
+	@Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15"})
+	public int hidden;
+
+	//swapping rotates each orb one slot over
+	@Param({"false", "true"})
+	public boolean swapping;
+
+	public HeadlessPlugin plugin;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		FakeConfig config = new FakeConfig()
+			.set("layout", layout)
+			.set("horizontalAnchor", horizontalAnchor)
+			.set("verticalAnchor", verticalAnchor)
+			.set("hideHp", (hidden & 1) != 0)
+			.set("hidePray", (hidden & 2) != 0)
+			.set("hideRun", (hidden & 4) != 0)
+			.set("hideSpec", (hidden & 8) != 0)
+			.set("enableOrbSwapping", swapping);
+
+		if (swapping)
+		{
+			config.set("orbInHPSlot", Orbs.PRAYER_ORB_CONTAINER)
+				.set("orbInPrayerSlot", Orbs.RUN_ORB_CONTAINER)
+				.set("orbInRunSlot", Orbs.SPEC_ORB_CONTAINER)
+				.set("orbInSpecialSlot", Orbs.HP_ORB_CONTAINER)
+				.set("orbInHpSlotVanilla", Orbs.PRAYER_ORB_CONTAINER)
+				.set("orbInPrayerSlotVanilla", Orbs.RUN_ORB_CONTAINER)
+				.set("orbInRunSlotVanilla", Orbs.SPEC_ORB_CONTAINER)
+				.set("orbInSpecialSlotVanilla", Orbs.HP_ORB_CONTAINER);
+		}
+
+		plugin = new HeadlessPlugin(config).start();
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.trace;
+
+import com.compactorbs.CompactOrbsConstants.Varbit;
+import com.compactorbs.Simulation;
+import com.compactorbs.fake.DisplayMode;
+import com.compactorbs.fake.FakeClient;
+import com.compactorbs.fake.FakeConfig;
+import com.compactorbs.fake.FakeConfigManager;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
+import com.compactorbs.widget.layout.edit.DragState;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import lombok.Getter;
+import net.runelite.api.GameState;
+
+//feeds a recorded trace back through the plugin against the fake client, as fast as it can
+//./gradlew replay -Ptrace=path/to/trace.bin (-PreplayRuns=10)
+public class TraceReplayer implements TraceListener
+{
+	@Getter
+	private Simulation simulation;
+
+	@Getter
+	private int ticks;
+
+	//how long the recorded session took
+	@Getter
+	private long recordedMicros;
+
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length == 0)
+		{
+			throw new IllegalArgumentException("usage: TraceReplayer <trace.bin> [runs]");
+		}
+
+		byte[] trace = Files.readAllBytes(Paths.get(args[0]));
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		for (int run = 1; run <= runs; run++)
+		{
+			TraceReplayer replayer = new TraceReplayer();
+			long start = System.nanoTime();
+			int records = TraceReader.read(new ByteArrayInputStream(trace), replayer);
+			long elapsed = System.nanoTime() - start;
+
+			System.out.printf("run %d: %d records, %d ticks (%.1fs recorded) replayed in %.1fms%n",
+				run, records, replayer.ticks, replayer.recordedMicros / 1e6, elapsed / 1e6);
+
+			if (run == runs)
+			{
+				Stats stats = replayer.simulation.get(Stats.class);
+				for (Timer timer : Timer.values())
+				{
+					if (stats.get(timer).getCount() > 0)
+					{
+						System.out.printf("    %-24s %s%n", timer.getName(), Stats.describe(stats.get(timer)));
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void start(long startMillis, GameState gameState, boolean resized,
+		Map<Integer, Integer> varbits, Map<Integer, Integer> varcs, Map<String, String> configs)
+	{
+		int arrangement = varbits.getOrDefault(Varbit.RESIZABLE_STONE_ARRANGEMENT, 0);
+		simulation = new Simulation(new FakeConfig(), DisplayMode.of(resized, arrangement));
+
+		FakeConfigManager configManager = simulation.getHeadless().getConfigManager();
+		for (Map.Entry<String, String> config : configs.entrySet())
+		{
+			//group.key
+			String name = config.getKey();
+			int split = name.indexOf('.');
+			configManager.load(name.substring(0, split), name.substring(split + 1), config.getValue());
+		}
+
+		FakeClient client = simulation.getClient();
+		varbits.forEach(client::setVarbit);
+		varcs.forEach(client::setVarcInt);
+		client.setGameState(gameState);
+
+		simulation.get(Stats.class).setEnabled(true);
+		try
+		{
+			simulation.startUp();
+		}
+		catch (Exception e)
+		{
+			throw new IllegalStateException("plugin failed to start", e);
+		}
+	}
+
+	@Override
+	public void clientTick(int micros)
+	{
+		ticks++;
+		recordedMicros += micros;
+		simulation.tick();
+	}
+
+	@Override
+	public void scriptPostFired(int scriptId)
+	{
+		simulation.script(scriptId);
+	}
+
+	@Override
+	public void varbitChanged(int varbitId, int value)
+	{
+		FakeClient client = simulation.getClient();
+		if (varbitId == Varbit.RESIZABLE_STONE_ARRANGEMENT && client.isResized())
+		{
+			//the toplevel is swapped, its widget loaded event follows in the trace
+			client.setDisplayMode(DisplayMode.of(true, value));
+		}
+
+		simulation.varbit(varbitId, value);
+	}
+
+	@Override
+	public void varClientIntChanged(int index, int value)
+	{
+		simulation.varcInt(index, value);
+	}
+
+	@Override
+	public void configChanged(String group, String key, String value)
+	{
+		//our own writes were already replayed by the plugin, those are unchanged and fire nothing
+		simulation.getHeadless().getConfigManager().set(group, key, value);
+	}
+
+	@Override
+	public void gameStateChanged(GameState gameState)
+	{
+		simulation.gameState(gameState);
+	}
+
+	@Override
+	public void widgetLoaded(int groupId)
+	{
+		simulation.widgetLoaded(groupId);
+	}
+
+	@Override
+	public void widgetClosed(int groupId)
+	{
+		simulation.widgetClosed(groupId);
+	}
+
+	@Override
+	public void resized(boolean resized)
+	{
+		FakeClient client = simulation.getClient();
+		client.setDisplayMode(DisplayMode.of(resized, client.getVarbits().getOrDefault(Varbit.RESIZABLE_STONE_ARRANGEMENT, 0)));
+	}
+
+	@Override
+	public void drag(int targetId, int mouseButton, int originX, int originY, int currentX, int currentY)
+	{
+		FakeClient client = simulation.getClient();
+		client.setDraggedWidget(targetId == -1 ? null : simulation.handler(targetId));
+		client.setMouseCurrentButton(mouseButton);
+
+		DragState dragState = simulation.get(DragState.class);
+		dragState.setOrigin(originX, originY);
+		dragState.setCurrent(currentX, currentY);
+	}
+
+	//replays the whole trace, for benchmarks
+	public static TraceReplayer replay(byte[] trace) throws IOException
+	{
+		TraceReplayer replayer = new TraceReplayer();
+		TraceReader.read(new ByteArrayInputStream(trace), replayer);
+		return replayer;
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget;
+
+import com.compactorbs.CompactOrbsConstants.Script;
+import com.compactorbs.fake.FakeConfig;
+import com.compactorbs.fake.FakeWidget;
+import com.compactorbs.fake.HeadlessPlugin;
+import com.compactorbs.util.ValueKey;
+import com.compactorbs.widget.elements.Orbs;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import net.runelite.api.widgets.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+//every value key of every orb target written with the values they already hold, as in a steady state remap
+//the fake widgets are proxies, so each property read/write costs far more than on the client, run with -prof gc for allocations
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyWriterBenchmark
+{
+	private static final ValueKey[] KEYS = ValueKey.values();
+
+	@State(Scope.Thread)
+	public static class Targets
+	{
+		PropertyWriter writer;
+		TargetWidget[] targets;
+		Widget[] widgets;
+
+		@Setup(Level.Trial)
+		public void setup()
+		{
+			writer = new HeadlessPlugin(new FakeConfig()).start().get(PropertyWriter.class);
+			targets = Orbs.values();
+			widgets = new Widget[targets.length];
+			for (int i = 0; i < targets.length; i++)
+			{
+				widgets[i] = new FakeWidget(targets[i].getComponentId(), -1, null).getWidget();
+			}
+
+			//fill the shadow
+			for (int i = 0; i < targets.length; i++)
+			{
+				for (ValueKey key : KEYS)
+				{
+					writer.write(targets[i], widgets[i], key, value(i, key));
+				}
+			}
+		}
+	}
+
+	//the previous setValue, a bound getter/setter pair per write
+	@Benchmark
+	public void boundReferences(Targets state, Blackhole blackhole)
+	{
+		for (int i = 0; i < state.widgets.length; i++)
+		{
+			Widget widget = state.widgets[i];
+			for (ValueKey key : KEYS)
+			{
+				blackhole.consume(boundReferences(widget, key, value(i, key)));
+			}
+		}
+	}
+
+	@Benchmark
+	public void unshadowed(Targets state, Blackhole blackhole)
+	{
+		for (int i = 0; i < state.widgets.length; i++)
+		{
+			for (ValueKey key : KEYS)
+			{
+				blackhole.consume(state.writer.write(state.widgets[i], key, value(i, key)));
+			}
+		}
+	}
+
+	//nothing touched the widgets since the last remap, every write is a shadow hit
+	@Benchmark
+	public void shadowed(Targets state, Blackhole blackhole)
+	{
+		for (int i = 0; i < state.widgets.length; i++)
+		{
+			for (ValueKey key : KEYS)
+			{
+				blackhole.consume(state.writer.write(state.targets[i], state.widgets[i], key, value(i, key)));
+			}
+		}
+	}
+
+	//a sprite swap ran before the remap, the shadow is still trusted
+	@Benchmark
+	public void shadowedAfterSafeScript(Targets state, Blackhole blackhole)
+	{
+		state.writer.invalidateByScriptId(Script.GRAPHIC_SWAPPER);
+		shadowed(state, blackhole);
+	}
+
+	//any other script ran before the remap, every target reads its widget again
+	@Benchmark
+	public void shadowedAfterScript(Targets state, Blackhole blackhole)
+	{
+		state.writer.invalidateByScriptId(Script.ORBS_UPDATE_HEALTH);
+		shadowed(state, blackhole);
+	}
+
+	private static int value(int target, ValueKey key)
+	{
+		return target * 31 + key.ordinal();
+	}
+
+	private static boolean boundReferences(Widget widget, ValueKey key, int v)
+	{
+		switch (key)
+		{
+			case X:
+				return updateValue(widget::getOriginalX, widget::setOriginalX, v);
+			case Y:
+				return updateValue(widget::getOriginalY, widget::setOriginalY, v);
+			case WIDTH:
+				return updateValue(widget::getOriginalWidth, widget::setOriginalWidth, v);
+			case HEIGHT:
+				return updateValue(widget::getOriginalHeight, widget::setOriginalHeight, v);
+			case X_POSITION_MODE:
+				return updateValue(widget::getXPositionMode, widget::setXPositionMode, v);
+			case Y_POSITION_MODE:
+				return updateValue(widget::getYPositionMode, widget::setYPositionMode, v);
+			case WIDTH_MODE:
+				return updateValue(widget::getWidthMode, widget::setWidthMode, v);
+			case HEIGHT_MODE:
+				return updateValue(widget::getHeightMode, widget::setHeightMode, v);
+		}
+		return false;
+	}
+
+	private static boolean updateValue(IntSupplier getter, IntConsumer setter, int value)
+	{
+		if (getter.getAsInt() != value)
+		{
+			setter.accept(value);
+			return true;
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.layout.edit;
+
+import com.compactorbs.fake.FakeClient;
+import com.compactorbs.fake.LayoutMatrix;
+import com.compactorbs.widget.TargetWidget;
+import com.compactorbs.widget.WidgetManager;
+import com.compactorbs.widget.elements.Orbs;
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.widgets.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DragBenchmark
+{
+	private static final int DRAG_TICKS = 1000;
+
+	//a handler bound to each swappable orb, dragged across the orbs container
+	@State(Scope.Thread)
+	public static class Handlers
+	{
+		DragListener dragListener;
+		DragState dragState;
+		FakeClient client;
+		Widget dragged;
+		Point[] positions;
+
+		@Setup(Level.Trial)
+		public void setup(LayoutMatrix matrix)
+		{
+			dragListener = matrix.plugin.get(DragListener.class);
+			dragState = matrix.plugin.get(DragState.class);
+			client = matrix.plugin.getClient();
+			WidgetManager widgetManager = matrix.plugin.get(WidgetManager.class);
+			BindingManager bindingManager = matrix.plugin.get(BindingManager.class);
+
+			for (TargetWidget orb : Orbs.SWAPPABLE_ORBS)
+			{
+				Widget bound = widgetManager.getTargetWidget(orb);
+				Widget handler = bound.getParent().createChild(-1, 0);
+				handler.setOriginalX(bound.getOriginalX());
+				handler.setOriginalY(bound.getOriginalY());
+				handler.setOriginalWidth(bound.getOriginalWidth());
+				handler.setOriginalHeight(bound.getOriginalHeight());
+				handler.setXPositionMode(bound.getXPositionMode());
+
+				bindingManager.bind(handler, orb, null, null, null, false);
+
+				if (dragged == null)
+				{
+					dragged = handler;
+				}
+			}
+
+			positions = new Point[FakeClient.MAP_WIDTH / 10];
+			for (int i = 0; i < positions.length; i++)
+			{
+				positions[i] = new Point(i * 10, (i * 7) % FakeClient.MAP_HEIGHT);
+			}
+		}
+	}
+
+	@Benchmark
+	public void findOverlappingHandler(Handlers handlers, Blackhole blackhole)
+	{
+		for (Point pos : handlers.positions)
+		{
+			blackhole.consume(handlers.dragListener.findOverlappingHandler(handlers.dragged, pos, FakeClient.MAP_WIDTH));
+		}
+	}
+
+	//one drag of DRAG_TICKS client ticks, for the time per tick
+	//the proxy widgets box their results, DragAllocationTest checks the drag itself allocates nothing
+	@Benchmark
+	@OperationsPerInvocation(DRAG_TICKS)
+	public void updateDrag(Handlers handlers)
+	{
+		handlers.client.setDraggedWidget(handlers.dragged);
+		handlers.dragState.setOrigin(0, 0);
+
+		for (int tick = 0; tick < DRAG_TICKS; tick++)
+		{
+			Point pos = handlers.positions[tick % handlers.positions.length];
+			handlers.dragState.setCurrent(pos.x, pos.y);
+			handlers.dragListener.updateDrag();
+		}
+
+		//next invocation starts a new drag, without flushing any writes
+		handlers.dragState.wasDragging = false;
+		handlers.client.setDraggedWidget(null);
+	}
+}
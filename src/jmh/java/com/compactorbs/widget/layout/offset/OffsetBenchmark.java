@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.layout.offset;
+
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.fake.LayoutMatrix;
+import com.compactorbs.util.ValueKey;
+import com.compactorbs.widget.TargetWidget;
+import com.compactorbs.widget.WidgetManager;
+import com.compactorbs.widget.layout.slot.SlotManager;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.widgets.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetBenchmark
+{
+	//X/Y offsets for every target with an offset
+	@Benchmark
+	public void getTargetOffset(LayoutMatrix matrix, Blackhole blackhole)
+	{
+		CompactOrbsManager manager = matrix.plugin.get(CompactOrbsManager.class);
+		SlotManager slotManager = matrix.plugin.get(SlotManager.class);
+		WidgetManager widgetManager = matrix.plugin.get(WidgetManager.class);
+
+		for (Offsets offsets : Offsets.values())
+		{
+			for (TargetWidget target : offsets.getTargets())
+			{
+				Widget widget = widgetManager.getTargetWidget(target);
+				if (widget == null)
+				{
+					continue;
+				}
+
+				int index = target.getArrayId();
+				blackhole.consume(OffsetManager.getTargetOffset(widget, index, ValueKey.X, widget.getOriginalX(), manager, slotManager));
+				blackhole.consume(OffsetManager.getTargetOffset(widget, index, ValueKey.Y, widget.getOriginalY(), manager, slotManager));
+			}
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.layout.offset;
+
+import com.compactorbs.widget.TargetWidget;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+//packed long key lookup vs the string keyed map it replaced, run with -prof gc to compare allocations
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OffsetsLookupBenchmark
+{
+	private final Map<String, Offsets> byString = new HashMap<>();
+
+	//every target, plus ids without an offset (misses)
+	private int[] componentIds;
+	private int[] arrayIds;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		List<int[]> ids = new ArrayList<>();
+		for (Offsets offsets : Offsets.values())
+		{
+			for (TargetWidget target : offsets.getTargets())
+			{
+				byString.put(target.getComponentId() + "_" + target.getArrayId(), offsets);
+				ids.add(new int[]{target.getComponentId(), target.getArrayId()});
+				ids.add(new int[]{target.getComponentId(), target.getArrayId() + 1});
+			}
+		}
+
+		componentIds = new int[ids.size()];
+		arrayIds = new int[ids.size()];
+		for (int i = 0; i < ids.size(); i++)
+		{
+			componentIds[i] = ids.get(i)[0];
+			arrayIds[i] = ids.get(i)[1];
+		}
+
+		//both lookups have to agree before timing either of them
+		for (int i = 0; i < componentIds.length; i++)
+		{
+			Offsets expected = byString.get(componentIds[i] + "_" + arrayIds[i]);
+			Offsets actual = Offsets.get(componentIds[i], arrayIds[i]);
+			if (expected != actual)
+			{
+				throw new IllegalStateException("Offsets mismatch for " + componentIds[i] + "_" + arrayIds[i]
+					+ ": expected " + expected + ", got " + actual);
+			}
+		}
+	}
+
+	@Benchmark
+	public void packedKey(Blackhole blackhole)
+	{
+		for (int i = 0; i < componentIds.length; i++)
+		{
+			blackhole.consume(Offsets.get(componentIds[i], arrayIds[i]));
+		}
+	}
+
+	@Benchmark
+	public void stringKey(Blackhole blackhole)
+	{
+		for (int i = 0; i < componentIds.length; i++)
+		{
+			blackhole.consume(byString.get(componentIds[i] + "_" + arrayIds[i]));
+		}
+	}
+}
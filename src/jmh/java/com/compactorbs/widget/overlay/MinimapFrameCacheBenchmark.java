@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget.overlay;
+
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.fake.FakeConfig;
+import com.compactorbs.fake.HeadlessPlugin;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.BufferProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import static org.mockito.Mockito.mock;
+
+//the frame caches own cost per frame: the pixel copy on refresh frames, and drawing the copy on the others
+//the client drawing the minimap itself isn't part of the headless client, use the "frame" timer from
+//::compactorbs-stats in game for the frame time with the limit on and off
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinimapFrameCacheBenchmark
+{
+	private static final int CANVAS_WIDTH = 1280;
+	private static final int CANVAS_HEIGHT = 720;
+
+	@State(Scope.Thread)
+	public static class Frames
+	{
+		//0 refreshes every frame, as if something on the minimap changed every frame
+		@Param({"0", "10"})
+		public int frameRate;
+
+		MinimapFrameCache cache;
+		Graphics2D graphics;
+
+		@Setup(Level.Trial)
+		public void setup()
+		{
+			HeadlessPlugin plugin = new HeadlessPlugin(new FakeConfig()
+				.set("showMinimapInCompactView", true)
+				.set("hideMinimap", true))
+				.start();
+
+			plugin.get(CompactOrbsManager.class).setupMinimapOverlay();
+			plugin.getClientThread().drain();
+			if (plugin.get(CompactOrbsManager.class).getOverlayMinimap() == null)
+			{
+				throw new IllegalStateException("detached minimap wasn't created");
+			}
+
+			final int[] pixels = new int[CANVAS_WIDTH * CANVAS_HEIGHT];
+			plugin.getClient().setBufferProvider(mock(BufferProvider.class, invocation ->
+			{
+				switch (invocation.getMethod().getName())
+				{
+					case "getPixels":
+						return pixels;
+					case "getWidth":
+						return CANVAS_WIDTH;
+					case "getHeight":
+						return CANVAS_HEIGHT;
+				}
+				return null;
+			}));
+
+			cache = plugin.get(MinimapFrameCache.class);
+			cache.setFrameRate(frameRate == 0 ? Integer.MAX_VALUE : frameRate);
+			graphics = new BufferedImage(CANVAS_WIDTH, CANVAS_HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+		}
+	}
+
+	@Benchmark
+	public void frame(Frames state)
+	{
+		state.cache.beforeRender();
+		state.cache.render(state.graphics);
+	}
+}
@@ -329,6 +329,20 @@ public interface CompactOrbsConfig extends Config
 		return false;
 	}
 
+	@Range(min = 0, max = 50)
+	@ConfigItem(
+		keyName = ConfigKeys.MINIMAP_FRAME_RATE,
+		name = "Frame rate limit",
+		description = "Redraw the detached minimap at most this many times per second, 0 redraws it every frame <br>" +
+			"It's still redrawn right away when moving, rotating the camera, zooming or dragging the minimap (min: 0, max: 50)",
+		section = minimapOverlay,
+		position = 3
+	)
+	default int minimapFrameRate()
+	{
+		return 0;
+	}
+
 	@ConfigSection(
 		name = "Orb Visibility / Swapping",
 		description = "",
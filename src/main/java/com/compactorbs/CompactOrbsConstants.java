@@ -90,6 +90,7 @@ public class CompactOrbsConstants
 		public static final String ENABLE_MINIMAP_OVERLAY = "enableMinimapOverlay";
 		public static final String ENABLE_OVERLAY_TOGGLE_OPTION = "enableOverlayToggleOption";
 		public static final String ENABLE_LOGOUT_X_OVERLAY = "enableLogoutXOverlay";
+		public static final String MINIMAP_FRAME_RATE = "minimapFrameRate";
 
 		//edit-modes custom positioning
 		public static final String CUSTOM_LAYOUT_PREFIX = "custom_layout_";
@@ -106,6 +107,15 @@ public class CompactOrbsConstants
 		}
 	}
 
+	public static final class Commands
+	{
+		//::compactorbs-stats [on|off|reset|csv]
+		public static final String STATS = "compactorbs-stats";
+
+		//::compactorbs-trace [start|stop]
+		public static final String TRACE = "compactorbs-trace";
+	}
+
 	public static final class Enum
 	{
 		//contains the toplevel component ids (key: widget, value: widget)
@@ -29,6 +29,7 @@ import com.compactorbs.CompactOrbsConfig.HorizontalAnchor;
 import com.compactorbs.CompactOrbsConfig.HotkeyOptions;
 import com.compactorbs.CompactOrbsConfig.TogglePlacement;
 import com.compactorbs.CompactOrbsConfig.VerticalAnchor;
+import com.compactorbs.CompactOrbsConstants.Commands;
 import com.compactorbs.CompactOrbsConstants.ConfigGroup;
 import com.compactorbs.CompactOrbsConstants.ConfigKeys;
 import com.compactorbs.CompactOrbsConstants.Layout;
@@ -40,9 +41,20 @@ import com.compactorbs.CompactOrbsConstants.Varbit;
 import com.compactorbs.CompactOrbsConstants.Widgets.Classic;
 import com.compactorbs.CompactOrbsConstants.Widgets.MinimapOverlay;
 import com.compactorbs.CompactOrbsConstants.Widgets.Modern;
+import com.compactorbs.stats.CountedConfig;
+import com.compactorbs.stats.Counter;
+import com.compactorbs.stats.Histogram;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
+import com.compactorbs.util.ConfigWriteQueue;
 import com.compactorbs.util.MigrateConfig;
 import com.compactorbs.util.ValueKey;
+import com.compactorbs.widget.TargetRegistry;
 import com.compactorbs.widget.TargetWidget;
+import com.compactorbs.widget.PropertyWriter;
+import com.compactorbs.widget.RemapScheduler;
+import com.compactorbs.widget.RevalidationBatch;
+import com.compactorbs.widget.WidgetCache;
 import com.compactorbs.widget.WidgetManager;
 import com.compactorbs.widget.elements.Button;
 import com.compactorbs.widget.elements.Compass;
@@ -50,17 +62,21 @@ import com.compactorbs.widget.elements.Minimap;
 import com.compactorbs.widget.elements.Orbs;
 import com.compactorbs.widget.layout.HideOrbConfig;
 import com.compactorbs.widget.layout.HideOrbRegistry;
+import com.compactorbs.widget.layout.LayoutPlan;
+import com.compactorbs.widget.layout.LayoutState;
 import com.compactorbs.widget.layout.edit.Binding;
 import com.compactorbs.widget.layout.edit.BindingManager;
 import com.compactorbs.widget.layout.edit.DragState;
 import com.compactorbs.widget.layout.edit.EditManager;
+import com.compactorbs.widget.layout.edit.EditableTargets;
+import com.compactorbs.widget.layout.edit.HandlerIndex;
+import com.compactorbs.widget.layout.edit.SavedPositionStore;
 import com.compactorbs.widget.layout.slot.SlotManager;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
@@ -102,6 +118,9 @@ public class CompactOrbsManager
 	@Inject
 	private CompactOrbsConfig config;
 
+	@Inject
+	private CountedConfig countedConfig;
+
 	@Inject
 	private WidgetManager widgetManager;
 
@@ -120,6 +139,36 @@ public class CompactOrbsManager
 	@Inject
 	private BindingManager bindingManager;
 
+	@Inject
+	private HandlerIndex handlerIndex;
+
+	@Inject
+	private LayoutPlan layoutPlan;
+
+	@Inject
+	private SavedPositionStore savedPositions;
+
+	@Inject
+	private ConfigWriteQueue configWrites;
+
+	@Inject
+	private RemapScheduler remapScheduler;
+
+	@Inject
+	private RevalidationBatch revalidations;
+
+	@Inject
+	private WidgetCache widgetCache;
+
+	@Inject
+	private PropertyWriter propertyWriter;
+
+	@Inject
+	private EditableTargets editableTargets;
+
+	@Inject
+	private Stats stats;
+
 	public boolean isUpdatingProfile;
 	public boolean isEditingLayout;
 	public boolean hideWorldMap;
@@ -137,16 +186,28 @@ public class CompactOrbsManager
 	private Widget overlayCompassLayer;
 	private Widget overlayCompassNoClick;
 	private Widget overlayCompassMenuOp;
+	@Getter
 	private Widget overlayMinimap;
 	private Widget overlayMinimapFrame;
 	private Widget overlayLogoutXStone;
 	private Widget overlayLogoutXIcon;
-	private final Map<TargetWidget, Widget> noClickThroughChildren = new HashMap<>();
+	//by TargetRegistry id
+	private final Widget[] noClickThroughChildren = new Widget[TargetRegistry.COUNT];
+
+	@Getter
+	private volatile LayoutState layoutState = LayoutState.EMPTY;
 
 	//update on startup, onWidgetLoaded, and onScriptPostFired
 	public void update(int scriptId)
 	{
-		updateWikiBannerVisibility(config.hideWiki());
+		final long start = stats.start();
+		applyUpdate(scriptId);
+		stats.stop(Timer.UPDATE, start);
+	}
+
+	private void applyUpdate(int scriptId)
+	{
+		updateWikiBannerVisibility(countedConfig.get().hideWiki());
 		hideOrbByScript(scriptId);
 		createCustomChildren();
 
@@ -156,32 +217,60 @@ public class CompactOrbsManager
 			return;
 		}
 
-		widgetManager.remapTargetsByScriptId(scriptId, Orbs.values());
+		widgetManager.remapTargetsByScriptId(scriptId, Orbs.byScriptId(scriptId));
 		updateNoClickThrough();
 	}
 
 	//rebuild the layout from state/config
 	public void rebuildLayout()
+	{
+		final long start = stats.start();
+		applyLayout();
+		stats.stop(Timer.REBUILD_LAYOUT, start);
+	}
+
+	private void applyLayout()
 	{
 		updateCustomChildren();
 
 		if (isFixedMode())
 		{
 			widgetManager.setHidden(MinimapOverlay.UNIVERSE, true);
-			widgetManager.remapTargets(Orbs.values());
+
+			revalidations.begin();
+			try
+			{
+				widgetManager.remapTargets(Orbs.values());
+			}
+			finally
+			{
+				revalidations.end();
+			}
+
 			updateNoClickThrough();
 			return;
 		}
 
+		//laid out right away, the orbs universe size is set from the containers after revalidating
 		setupMinimapContainer(false);
-		widgetManager.setTargetsHidden(isCompactLayout() && isCompassHidden(), Compass.values());
-		widgetManager.remapTargets(Compass.values());
-		widgetManager.remapTargets(Orbs.values());
-		updateNoClickThrough();
 
-		if (!isClassicResizable() && !isFixedMode())
+		//each changed compass/orb widget is revalidated once, after all of them are remapped
+		revalidations.begin();
+		try
+		{
+			widgetManager.setTargetsHidden(isCompactLayout() && isCompassHidden(), Compass.values());
+			widgetManager.remapTargets(Compass.values());
+			widgetManager.remapTargets(Orbs.values());
+			updateNoClickThrough();
+
+			if (!isClassicResizable() && !isFixedMode())
+			{
+				hideLogout();
+			}
+		}
+		finally
 		{
-			hideLogout();
+			revalidations.end();
 		}
 	}
 
@@ -204,8 +293,10 @@ public class CompactOrbsManager
 
 		bindingManager.clear();
 		orbHidden.clear();
+		remapScheduler.clear();
 
 		clearCustomChildren();
+		editManager.releaseHandlers();
 
 		resetVisibility();
 		resetPositioning();
@@ -224,6 +315,9 @@ public class CompactOrbsManager
 			editManager.toggleEditMode(false);
 		}
 
+		refreshConfigState();
+		refreshClientState();
+
 		hasSeenWikiWarning = false;
 		hideWorldMap = config.hideWorld();
 		hideLogoutX = config.hideLogout();
@@ -232,6 +326,7 @@ public class CompactOrbsManager
 		isUpdatingProfile = false;
 
 		//update based on config
+		invalidateLayout();
 		hideAllOrbsByConfig();
 		slotManager.update();
 
@@ -270,10 +365,28 @@ public class CompactOrbsManager
 		{
 			widgetManager.setNoClickThrough(orb.getComponentId(), false);
 			handleVanillaNoClickThrough(orb, false);
-			widgetManager.clearChild(noClickThroughChildren.remove(orb));
+			clearNoClickThroughChild(orb);
 		}
 	}
 
+	//config events can come in off the client thread, only the client bits are read from the client
+	public synchronized void refreshConfigState()
+	{
+		layoutState = layoutState.withConfig(countedConfig.get());
+	}
+
+	public synchronized void refreshClientState()
+	{
+		layoutState = layoutState.withClient(client);
+	}
+
+	//drop any compiled layout values, so they are re-evaluated on the next remap
+	public void invalidateLayout()
+	{
+		layoutPlan.invalidate();
+		editableTargets.invalidate();
+	}
+
 	//toggle the minimap visibility, and update related widgets when using the custom toggle button
 	public void onMinimapToggle()
 	{
@@ -325,7 +438,7 @@ public class CompactOrbsManager
 
 	public boolean hideMinimapWithSidePanel()
 	{
-		return config.hideMinimapWithSidePanel();
+		return layoutState.has(LayoutState.HIDE_MINIMAP_WITH_SIDE_PANEL);
 	}
 
 	public void updateNoClickThrough()
@@ -348,7 +461,7 @@ public class CompactOrbsManager
 			}
 			else
 			{
-				widgetManager.clearChild(noClickThroughChildren.remove(orb));
+				clearNoClickThroughChild(orb);
 			}
 		}
 	}
@@ -370,23 +483,31 @@ public class CompactOrbsManager
 		widgetManager.setNoClickThrough(backing.getId(), !noClickThrough);
 		widgetManager.setNoClickThrough(button.getId(), noClickThrough);
 
-		if (!config.enableNoClickthrough() || !button.isHidden())
+		if (!layoutState.has(LayoutState.NO_CLICK_THROUGH) || !button.isHidden())
 		{
-			widgetManager.clearChild(noClickThroughChildren.remove(target));
+			clearNoClickThroughChild(target);
 			return;
 		}
 
-		Widget noClick = noClickThroughChildren.get(target);
+		final int id = TargetRegistry.id(target);
+		Widget noClick = noClickThroughChildren[id];
 		if (noClick == null)
 		{
 			noClick = widgetManager.createNoClick(layer, button);
 			noClick.setNoClickThrough(true);
 			noClick.revalidate();
 
-			noClickThroughChildren.put(target, noClick);
+			noClickThroughChildren[id] = noClick;
 		}
 	}
 
+	private void clearNoClickThroughChild(TargetWidget target)
+	{
+		final int id = TargetRegistry.id(target);
+		widgetManager.clearChild(noClickThroughChildren[id]);
+		noClickThroughChildren[id] = null;
+	}
+
 	//TODO - test if stale state can happen to the XP orb when hovering into the HP orb in safe mode (poisoned)
 	//orb swapping seems to have introduced a possible de-sync under certain configurations, where an orbs backing frame
 	//will remain in a hovered state when moving into another orbs bounds (overlapped) while triggering the graphic swapper script (44)
@@ -532,8 +653,8 @@ public class CompactOrbsManager
 			return;
 		}
 
-		minimapButton.setHidden(config.hideMinimapToggle() || isMinimapMinimized());
-		if (!config.rightClickToggleButtons() || isFixedMode())
+		minimapButton.setHidden(hideMinimapToggle() || isMinimapMinimized());
+		if (!rightClickToggleButtons() || isFixedMode())
 		{
 			int index = MenuOp.OP_INDEX_0;
 			if (isFixedMode())
@@ -551,7 +672,7 @@ public class CompactOrbsManager
 					: buildToggleOp(isMinimapHidden(), MenuOp.MINIMAP_OP));
 		}
 
-		minimapButton.setNoClickThrough(!config.rightClickToggleButtons());
+		minimapButton.setNoClickThrough(!rightClickToggleButtons());
 		widgetManager.remapTargets(
 			Button.MINIMAP_BUTTON_MODERN,
 			Button.MINIMAP_BUTTON_CLASSIC,
@@ -751,7 +872,7 @@ public class CompactOrbsManager
 			{
 				if (!isEditingLayout)
 				{
-					if (config.rightClickToggleButtons())
+					if (rightClickToggleButtons())
 					{
 						entry
 							.setOption(buildToggleOp(isMinimapHidden(), MenuOp.MINIMAP_OP))
@@ -763,7 +884,7 @@ public class CompactOrbsManager
 					{
 						menu.createMenuEntry(-2)
 							.setOption(buildToggleOp(!config.showMinimapInCompactView(), MenuOp.DETACHED_OP))
-							.setDeprioritized(config.rightClickToggleButtons())
+							.setDeprioritized(rightClickToggleButtons())
 							.setType(MenuAction.RUNELITE_LOW_PRIORITY)
 							.onClick(e ->
 								saveConfig(ConfigKeys.ENABLE_MINIMAP_OVERLAY, !config.showMinimapInCompactView())
@@ -775,7 +896,7 @@ public class CompactOrbsManager
 				menu.createMenuEntry(index)
 					.setOption(buildEditOp(false))
 					.setForceLeftClick(false)
-					.setDeprioritized(config.rightClickToggleButtons())
+					.setDeprioritized(rightClickToggleButtons())
 					.setType(MenuAction.RUNELITE_LOW_PRIORITY)
 					.onClick(e ->
 						editManager.toggleEditMode(true)
@@ -786,7 +907,7 @@ public class CompactOrbsManager
 
 	public CompactOrbsLayout getCurrentLayout()
 	{
-		return config.layout();
+		return layoutState.getLayout();
 	}
 
 	//invert for readability
@@ -802,8 +923,7 @@ public class CompactOrbsManager
 			return false;
 		}
 
-		final int classicArrangement = 0;
-		return client.getVarbitValue(Varbit.RESIZABLE_STONE_ARRANGEMENT) == classicArrangement;
+		return layoutState.has(LayoutState.CLASSIC_ARRANGEMENT);
 	}
 
 	public boolean isLoggedIn()
@@ -828,27 +948,27 @@ public class CompactOrbsManager
 
 	public boolean isAnchorLeft()
 	{
-		return config.horizontalAnchor().isLeft();
+		return !layoutState.has(LayoutState.ANCHOR_RIGHT);
 	}
 
 	public boolean isAnchorRight()
 	{
-		return config.horizontalAnchor().isRight();
+		return layoutState.has(LayoutState.ANCHOR_RIGHT);
 	}
 
 	public boolean isAnchorTop()
 	{
-		return config.verticalAnchor().isTop();
+		return !layoutState.has(LayoutState.ANCHOR_BOTTOM);
 	}
 
 	public boolean isAnchorBottom()
 	{
-		return config.verticalAnchor().isBottom();
+		return layoutState.has(LayoutState.ANCHOR_BOTTOM);
 	}
 
 	public boolean allowReordering()
 	{
-		return !config.disableReordering();
+		return !layoutState.has(LayoutState.DISABLE_REORDERING);
 	}
 
 	public boolean isMinimapHidden()
@@ -858,32 +978,37 @@ public class CompactOrbsManager
 			return false;
 		}
 
-		return config.hideMinimap();
+		return layoutState.has(LayoutState.HIDE_MINIMAP);
 	}
 
 	public boolean isCompassHidden()
 	{
-		return config.hideCompass();
+		return layoutState.has(LayoutState.HIDE_COMPASS);
 	}
 
 	public boolean isXpDropHidden()
 	{
-		return config.hideXp();
+		return layoutState.has(LayoutState.HIDE_XP);
 	}
 
 	public boolean isWikiHidden()
 	{
-		return config.hideWiki();
+		return layoutState.has(LayoutState.HIDE_WIKI);
 	}
 
 	public boolean isStoreHidden()
 	{
-		return config.hideStore();
+		return layoutState.has(LayoutState.HIDE_STORE);
 	}
 
 	public TogglePlacement getTogglePlacement()
 	{
-		return config.minimapTogglePlacement();
+		return layoutState.getTogglePlacement();
+	}
+
+	public boolean rightClickToggleButtons()
+	{
+		return layoutState.has(LayoutState.RIGHT_CLICK_TOGGLE_BUTTONS);
 	}
 
 	public boolean shouldOffsetXpOrb()
@@ -893,17 +1018,17 @@ public class CompactOrbsManager
 
 	public boolean hideMinimapToggle()
 	{
-		return config.hideMinimapToggle();
+		return layoutState.has(LayoutState.HIDE_MINIMAP_TOGGLE);
 	}
 
-	boolean hideMinimapOverlay()
+	public boolean hideMinimapOverlay()
 	{
 		return !(isMinimapOverlayEnabled() && isMinimapHidden() && !isMinimapMinimized()) || isFixedMode();
 	}
 
 	public boolean isMinimapOverlayEnabled()
 	{
-		return config.showMinimapInCompactView();
+		return layoutState.has(LayoutState.MINIMAP_OVERLAY);
 	}
 
 	//prevent unintended state changes for the logout-x since it is treated as a side icon/stone, i.e. don't unhide when it should be hidden
@@ -951,7 +1076,7 @@ public class CompactOrbsManager
 			return true;
 		}
 
-		return !config.showOverlayLogoutX() || isClassicResizable() || hideStonesAndIcons();
+		return !layoutState.has(LayoutState.OVERLAY_LOGOUT_X) || isClassicResizable() || hideStonesAndIcons();
 	}
 
 	//similar to how the cs2 script hides/shows the logout-x by referencing the containers hidden state
@@ -975,25 +1100,22 @@ public class CompactOrbsManager
 	boolean isOverlayLogoutVisible()
 	{
 		return isCompactLayout() &&
-			isMinimapOverlayEnabled() && config.showOverlayLogoutX();
+			isMinimapOverlayEnabled() && layoutState.has(LayoutState.OVERLAY_LOGOUT_X);
 	}
 
 	public boolean isActivityOrbDisabled()
 	{
-		final int activityOrbVisible = 0;
-		return client.getVarbitValue(Varbit.ACTIVITY_ORB_TOGGLE) != activityOrbVisible;
+		return layoutState.has(LayoutState.ACTIVITY_ORB_DISABLED);
 	}
 
 	public boolean isStoreOrbDisabled()
 	{
-		final int storeOrbVisible = 1;
-		return client.getVarbitValue(Varbit.STORE_ORB_TOGGLE) != storeOrbVisible;
+		return layoutState.has(LayoutState.STORE_ORB_DISABLED);
 	}
 
 	public boolean isWikiBannerDisabled()
 	{
-		final int wikiIconVisible = 0;
-		return client.getVarbitValue(Varbit.WIKI_ICON_TOGGLE) != wikiIconVisible;
+		return layoutState.has(LayoutState.WIKI_BANNER_DISABLED);
 	}
 
 	public boolean isMinimapMinimized()
@@ -1004,8 +1126,7 @@ public class CompactOrbsManager
 			return false;
 		}
 
-		final int minimapMinimized = 1;
-		return client.getVarbitValue(Varbit.MINIMAP_TOGGLE) == minimapMinimized;
+		return layoutState.has(LayoutState.MINIMAP_MINIMIZED);
 	}
 
 	public boolean isCutsceneActive()
@@ -1044,7 +1165,7 @@ public class CompactOrbsManager
 
 		if (isAnchorBottom() && !isEditingLayout)
 		{
-			y += config.verticalYAdjustment();
+			y += layoutState.getVerticalYAdjustment();
 
 			switch (getCurrentLayout())
 			{
@@ -1077,7 +1198,7 @@ public class CompactOrbsManager
 		return y;
 	}
 
-	private void hideOrbByScript(int scriptId)
+	public void hideOrbByScript(int scriptId)
 	{
 		if (scriptId == Script.FORCE_UPDATE)
 		{
@@ -1218,6 +1339,52 @@ public class CompactOrbsManager
 		}
 	}
 
+	//::compactorbs-stats, one line per timer/counter along with the caches and batches own counters
+	public void printStats()
+	{
+		if (!stats.isEnabled())
+		{
+			sendMessage(msg -> msg.append("stats are off, enable them with ")
+				.append(ChatColorType.HIGHLIGHT)
+				.append("::" + Commands.STATS + " on"));
+		}
+
+		for (Timer timer : Timer.values())
+		{
+			Histogram histogram = stats.get(timer);
+			if (histogram.getCount() > 0)
+			{
+				sendStat(timer.getName(), Stats.describe(histogram));
+			}
+		}
+
+		for (Counter counter : Counter.values())
+		{
+			sendStat(counter.getName(), String.valueOf(stats.get(counter)));
+		}
+
+		sendStat("widget cache", widgetCache.getHits() + " hits, " + widgetCache.getMisses() + " misses ("
+			+ widgetCache.getHitRatio() + "% hit ratio), " + widgetCache.getStaleParents() + " stale parents");
+		sendStat("revalidations", revalidations.getRevalidated() + " of " + revalidations.getRequested() + " requested");
+		sendStat("script remaps", remapScheduler.getFlushes() + " flushes, " + remapScheduler.getAvoidedRemaps() + " avoided");
+	}
+
+	public void resetStats()
+	{
+		stats.reset();
+		widgetCache.resetStats();
+		revalidations.resetStats();
+		remapScheduler.resetStats();
+	}
+
+	void sendStat(String name, String value)
+	{
+		sendMessage(msg -> msg.append(ChatColorType.HIGHLIGHT)
+			.append(name + ": ")
+			.append(ChatColorType.NORMAL)
+			.append(value));
+	}
+
 	private void sendMessage(Consumer<ChatMessageBuilder> consumer)
 	{
 		if (!isLoggedIn())
@@ -1254,27 +1421,11 @@ public class CompactOrbsManager
 			return false;
 		}
 
-		for (TargetWidget[] targets : EditManager.EDIT_TARGETS)
-		{
-			boolean classic = targets.length > 1 && isClassicResizable() && targets[1] != null;
-			boolean fixed = targets.length > 2 && isFixedMode() && targets[2] != null;
-
-			final TargetWidget target =
-				fixed ? targets[2] : classic ? targets[1] : targets[0];
-
-			if (editManager.blockEditing(target))
-			{
-				continue;
-			}
-
-			if (widget.getId() == target.getComponentId()
-				&& index == target.getArrayId())
-			{
-				return true;
-			}
-		}
-
-		return false;
+		//compact layouts have returned above
+		return editableTargets.isEditable(
+			TargetRegistry.find(widget.getId(), index),
+			TargetRegistry.displayMode(isFixedMode(), isClassicResizable()),
+			false);
 	}
 
 	public void resetTargetsSavedPosition(Binding binding, boolean remap)
@@ -1315,6 +1466,7 @@ public class CompactOrbsManager
 					binding.getHandler().setOriginalX(x);
 					binding.getHandler().setOriginalY(y);
 					binding.getHandler().revalidate();
+					handlerIndex.moved(handler);
 
 					if (binding.getRelated() != null)
 					{
@@ -1322,6 +1474,7 @@ public class CompactOrbsManager
 						related.setOriginalX(x);
 						related.setOriginalY(y);
 						related.revalidate();
+						propertyWriter.invalidate();
 					}
 				}
 			}
@@ -1335,11 +1488,8 @@ public class CompactOrbsManager
 			return;
 		}
 
-		String x = getSavedKey(target, ValueKey.X);
-		String y = getSavedKey(target, ValueKey.Y);
-
-		configManager.unsetConfiguration(ConfigGroup.GROUP_NAME, x);
-		configManager.unsetConfiguration(ConfigGroup.GROUP_NAME, y);
+		savedPositions.unset(getCurrentPrefixIndex(), target);
+		invalidateLayout();
 	}
 
 	//remap should only be false for profile swaps / full config resets
@@ -1359,32 +1509,9 @@ public class CompactOrbsManager
 
 	public void resetSavedPositionConfigs()
 	{
-		String[] prefixes =
-			{
-				ConfigKeys.CUSTOM_LAYOUT_PREFIX,
-				ConfigKeys.VANILLA_LAYOUT_PREFIX,
-				ConfigKeys.FIXED_LAYOUT_PREFIX
-			};
-
-		for (TargetWidget[] targets : EditManager.EDIT_TARGETS)
-		{
-			for (TargetWidget target : targets)
-			{
-				if (target == null)
-				{
-					continue;
-				}
-
-				for (String prefix : prefixes)
-				{
-					configManager.unsetConfiguration(ConfigGroup.GROUP_NAME,
-						buildSavedKey(prefix, target.getComponentId(), target.getArrayId(), ValueKey.X));
-
-					configManager.unsetConfiguration(ConfigGroup.GROUP_NAME,
-						buildSavedKey(prefix, target.getComponentId(), target.getArrayId(), ValueKey.Y));
-				}
-			}
-		}
+		savedPositions.unsetAll();
+		configWrites.flush();
+		invalidateLayout();
 	}
 
 	public int getSavedPosition(Widget widget, int index, ValueKey key)
@@ -1408,9 +1535,7 @@ public class CompactOrbsManager
 			}
 		}
 
-		String configKey = buildSavedKey(getCurrentPrefix(), widget.getId(), index, key);
-		Integer value = configManager.getConfiguration(ConfigGroup.GROUP_NAME, configKey, Integer.class);
-		return value != null ? value : -1;
+		return savedPositions.get(getCurrentPrefixIndex(), widget.getId(), index, key);
 	}
 
 	public void saveCurrentLayoutPosition(Widget bound, Binding binding)
@@ -1442,29 +1567,20 @@ public class CompactOrbsManager
 	{
 		if (target != null)
 		{
-			saveConfig(getSavedKey(target, com.compactorbs.util.ValueKey.X), x);
-			saveConfig(getSavedKey(target, com.compactorbs.util.ValueKey.Y), y);
+			savedPositions.set(getCurrentPrefixIndex(), target, x, y);
+			invalidateLayout();
 		}
 	}
 
-	private String getSavedKey(TargetWidget target, ValueKey key)
-	{
-		int id = target.getComponentId();
-		int index = target.getArrayId();
-		return buildSavedKey(getCurrentPrefix(), id, index, key);
-	}
-
-	private String buildSavedKey(String prefix, int componentId, int index, ValueKey key)
+	public String getCurrentPrefix()
 	{
-		String suffix = key == com.compactorbs.util.ValueKey.X ? "_x" : "_y";
-		String id = componentId + "_" + index;
-		return prefix + id + suffix;
+		return SavedPositionStore.getPrefix(getCurrentPrefixIndex());
 	}
 
-	public String getCurrentPrefix()
+	public int getCurrentPrefixIndex()
 	{
-		return isCompactLayout() ? ConfigKeys.CUSTOM_LAYOUT_PREFIX :
-			!isFixedMode() ? ConfigKeys.VANILLA_LAYOUT_PREFIX : ConfigKeys.FIXED_LAYOUT_PREFIX;
+		return isCompactLayout() ? SavedPositionStore.CUSTOM :
+			!isFixedMode() ? SavedPositionStore.VANILLA : SavedPositionStore.FIXED;
 	}
 
 	public <T> void saveConfig(String key, T value)
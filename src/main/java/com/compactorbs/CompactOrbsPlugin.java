@@ -27,6 +27,7 @@ package com.compactorbs;
 
 import com.compactorbs.CompactOrbsConfig.HotkeyOptions;
 import com.compactorbs.CompactOrbsConfig.TogglePlacement;
+import com.compactorbs.CompactOrbsConstants.Commands;
 import com.compactorbs.CompactOrbsConstants.ConfigGroup;
 import static com.compactorbs.CompactOrbsConstants.ConfigGroup.GROUP_NAME;
 import com.compactorbs.CompactOrbsConstants.ConfigKeys;
@@ -36,30 +37,50 @@ import com.compactorbs.CompactOrbsConstants.VarClient;
 import com.compactorbs.CompactOrbsConstants.Varbit;
 import com.compactorbs.CompactOrbsConstants.Widgets;
 import com.compactorbs.CompactOrbsConstants.Widgets.Orb;
+import com.compactorbs.stats.CountedConfig;
+import com.compactorbs.stats.EventProfiler;
+import com.compactorbs.stats.ProfiledEvent;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
+import com.compactorbs.trace.TraceRecorder;
+import com.compactorbs.util.ConfigWriteQueue;
+import com.compactorbs.widget.MinimapRendering;
+import com.compactorbs.widget.PropertyWriter;
+import com.compactorbs.widget.RemapScheduler;
+import com.compactorbs.widget.WidgetCache;
 import com.compactorbs.widget.WidgetManager;
 import com.compactorbs.widget.elements.Compass;
 import com.compactorbs.widget.elements.Orbs;
 import com.compactorbs.widget.layout.HideOrbRegistry;
+import com.compactorbs.widget.layout.LayoutState;
 import com.compactorbs.widget.layout.edit.DragListener;
 import com.compactorbs.widget.layout.edit.DragState;
 import com.compactorbs.widget.layout.edit.EditManager;
+import com.compactorbs.widget.layout.edit.SavedPositionStore;
 import com.compactorbs.widget.layout.slot.SlotManager;
 import com.compactorbs.widget.layout.slot.SlotRegistry;
+import com.compactorbs.widget.overlay.MinimapFrameCache;
 import com.compactorbs.widget.overlay.MinimapOverlay;
+import com.compactorbs.widget.overlay.StatsOverlay;
 import com.google.inject.Provides;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
 import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
+import net.runelite.api.events.BeforeRender;
 import net.runelite.api.events.ClientTick;
+import net.runelite.api.events.CommandExecuted;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.ScriptPostFired;
 import net.runelite.api.events.ScriptPreFired;
 import net.runelite.api.events.VarClientIntChanged;
 import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WidgetClosed;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
@@ -92,6 +113,9 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	@Inject
 	private CompactOrbsConfig config;
 
+	@Inject
+	private CountedConfig countedConfig;
+
 	@Inject
 	private CompactOrbsManager manager;
 
@@ -104,6 +128,24 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	@Inject
 	private MinimapOverlay minimapOverlay;
 
+	@Inject
+	private MinimapFrameCache minimapFrameCache;
+
+	@Inject
+	private MinimapRendering minimapRendering;
+
+	@Inject
+	private StatsOverlay statsOverlay;
+
+	@Inject
+	private Stats stats;
+
+	@Inject
+	private EventProfiler profiler;
+
+	@Inject
+	private TraceRecorder trace;
+
 	@Inject
 	private OverlayManager overlayManager;
 
@@ -128,17 +170,47 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	@Inject
 	private DragState dragState;
 
+	@Inject
+	private SavedPositionStore savedPositions;
+
+	@Inject
+	private ConfigWriteQueue configWrites;
+
+	@Inject
+	private RemapScheduler remapScheduler;
+
+	@Inject
+	private WidgetCache widgetCache;
+
+	@Inject
+	private PropertyWriter propertyWriter;
+
 	@Inject
 	private MouseManager mouseManager;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
+	//start of the previous frame, for the frame timer
+	private long lastFrame;
+
 	@Override
 	protected void startUp() throws Exception
 	{
 		manager.migrateConfigs();
+		manager.refreshConfigState();
+		minimapOverlay.invalidate();
+		minimapFrameCache.invalidate();
+		widgetCache.invalidateAll();
+		propertyWriter.invalidate();
+		minimapFrameCache.setFrameRate(config.minimapFrameRate());
 		overlayManager.add(minimapOverlay);
+		overlayManager.add(minimapFrameCache);
+		overlayManager.add(statsOverlay);
 		keyManager.registerKeyListener(this);
 		mouseManager.registerMouseListener(dragListener);
 		orbRegistry.registerAll();
+		savedPositions.invalidate();
 
 		if (!manager.isLoggedIn())
 		{
@@ -154,6 +226,7 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 
 		clientThread.invoke(() ->
 		{
+			manager.refreshClientState();
 			slotManager.init();
 			if (manager.isLoggedIn())
 			{
@@ -168,8 +241,13 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	protected void shutDown() throws Exception
 	{
 		overlayManager.remove(minimapOverlay);
+		overlayManager.remove(minimapFrameCache);
+		overlayManager.remove(statsOverlay);
 		keyManager.unregisterKeyListener(this);
 		mouseManager.unregisterMouseListener(dragListener);
+		trace.stop();
+		clientThread.invoke(minimapFrameCache::invalidate);
+		clientThread.invoke(minimapRendering::reset);
 		clientThread.invoke(manager::reset);
 	}
 
@@ -181,6 +259,23 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 
 	@Subscribe
 	public void onClientTick(ClientTick event)
+	{
+		if (trace.isRecording())
+		{
+			//the mouse state goes in before the tick, so a replay can set it up and then tick
+			if (manager.isEditingLayout && (client.getDraggedWidget() != null || dragState.wasDragging))
+			{
+				trace.drag(dragListener.getDraggedTargetId(), client.getMouseCurrentButton(), dragState.getOrigin(), dragState.getCurrent());
+			}
+			trace.clientTick();
+		}
+
+		final long start = profiler.start();
+		clientTick();
+		profiler.stop(ProfiledEvent.CLIENT_TICK, start);
+	}
+
+	private void clientTick()
 	{
 		//don't check for drag events unless layout editing is enabled
 		if (!manager.isEditingLayout)
@@ -202,9 +297,40 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 		}
 	}
 
+	@Subscribe
+	public void onBeforeRender(BeforeRender event)
+	{
+		final long start = profiler.start();
+		stats.stop(Timer.FRAME, lastFrame);
+		lastFrame = stats.start();
+
+		//apply the script triggered updates once per frame
+		remapScheduler.flush();
+		minimapRendering.update();
+		minimapFrameCache.beforeRender();
+
+		profiler.stop(ProfiledEvent.BEFORE_RENDER, start);
+	}
+
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged event)
 	{
+		trace.gameStateChanged(event.getGameState());
+		final long start = profiler.start();
+		gameStateChanged(event);
+		profiler.stop(ProfiledEvent.GAME_STATE_CHANGED, start);
+	}
+
+	private void gameStateChanged(GameStateChanged event)
+	{
+		//client bits are only read while logged in
+		manager.refreshClientState();
+		manager.invalidateLayout();
+		minimapOverlay.invalidate();
+		minimapFrameCache.invalidate();
+		widgetCache.invalidateAll();
+		propertyWriter.invalidate();
+
 		if (event.getGameState() == GameState.HOPPING ||
 			event.getGameState() == GameState.LOGIN_SCREEN ||
 			event.getGameState() == GameState.LOGGING_IN)
@@ -222,7 +348,18 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	@Subscribe(priority = -1.0f)
 	public void onScriptPostFired(ScriptPostFired event)
 	{
-		int scriptId = event.getScriptId();
+		final int scriptId = event.getScriptId();
+		trace.scriptPostFired(scriptId);
+		final long start = stats.start();
+		scriptPostFired(scriptId);
+		stats.stop(Timer.SCRIPT_POST_FIRED, start);
+		profiler.stopScript(scriptId, start);
+	}
+
+	private void scriptPostFired(int scriptId)
+	{
+		//unless the script is known to leave positions alone, the last written values can't be trusted anymore
+		propertyWriter.invalidateByScriptId(scriptId);
 
 		//prevent unwanted changes while in edit-mode
 		if (manager.isEditingLayout &&
@@ -269,17 +406,15 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 			case Script.TOPLEVEL_RESIZE_CUSTOMIZE:
 			case Script.PROC_TOPLEVEL_SUBCHANGE:
 			case Script.TOPLEVEL_SIDE_CUSTOMIZE:
-				manager.hideLogout();
-				manager.updateLogoutXOverlay();
-				manager.hideMinimapOnTabClose(config.hideMinimapWithSidePanel());
+				remapScheduler.scheduleToplevel();
 				break;
 
 			case Script.WIKI_ICON_INIT:
-				manager.updateWikiBannerVisibility(config.hideWiki());
+				remapScheduler.scheduleWikiBanner();
 				break;
 
 			case Script.ORBS_UPDATE_SPECENERGY:
-				if (manager.isEditingLayout && config.hideSpec())
+				if (manager.isEditingLayout && countedConfig.get().hideSpec())
 				{
 					//prevent the script from setting the opacity back to 25
 					widgetManager.setTargetOpacity(Orbs.SPEC_ORB_CONTAINER, EDIT_MODE_HIDDEN_OPACITY);
@@ -287,7 +422,7 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 			case Script.ORBS_UPDATE_HEALTH:
 				if (!manager.isCompactLayout())
 				{
-					manager.updateNoClickThrough();
+					remapScheduler.scheduleNoClickThrough();
 				}
 				break;
 
@@ -303,7 +438,7 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 				//case Script.GRID_MASTER_ORB_UPDATE:
 				if (!manager.isMinimapMinimized())
 				{
-					manager.update(scriptId);
+					remapScheduler.scheduleUpdate(scriptId);
 				}
 				break;
 		}
@@ -312,6 +447,7 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	@Subscribe
 	public void onScriptPreFired(ScriptPreFired event)
 	{
+		final long start = profiler.start();
 		int scriptId = event.getScriptId();
 
 		if (scriptId == Orbs.WORLD_MAP_TOOLTIP.getScriptId())
@@ -324,18 +460,39 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 				widgetManager.setHidden(tooltipId, hidden);
 			}
 		}
+
+		profiler.stop(ProfiledEvent.SCRIPT_PRE_FIRED, start);
 	}
 
 	@Subscribe
 	public void onVarbitChanged(VarbitChanged event)
 	{
+		trace.varbitChanged(event.getVarbitId(), event.getValue());
+		final long start = profiler.start();
+		varbitChanged(event);
+		profiler.stop(ProfiledEvent.VARBIT_CHANGED, start);
+	}
+
+	private void varbitChanged(VarbitChanged event)
+	{
+		if (LayoutState.isTracked(event.getVarbitId()))
+		{
+			manager.refreshClientState();
+		}
+
 		switch (event.getVarbitId())
 		{
 			case Varbit.CUTSCENE_STATUS:
 				manager.isCutsceneActive = manager.isCutsceneActive();
 				break;
 
+			case Varbit.RESIZABLE_STONE_ARRANGEMENT:
+			case Varbit.WIKI_ICON_TOGGLE:
+				manager.invalidateLayout();
+				break;
+
 			case Varbit.MINIMAP_TOGGLE:
+				manager.invalidateLayout();
 				widgetManager.remapTargets(Orbs.LOGOUT_X_ICON, Orbs.LOGOUT_X_STONE);
 				manager.updateCustomChildren();
 				manager.setupMinimapContainer(false);
@@ -343,6 +500,8 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 
 			case Varbit.STORE_ORB_TOGGLE:
 			case Varbit.ACTIVITY_ORB_TOGGLE:
+				manager.invalidateLayout();
+
 				//might need to add other varbit triggers (toggle wiki, toggle data orbs?)
 				if (manager.isEditingLayout)
 				{
@@ -353,7 +512,7 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 				{
 					widgetManager.remapTargets(Orbs.values());
 
-					if (config.minimapTogglePlacement() == TogglePlacement.BELOW_MAP)
+					if (countedConfig.get().minimapTogglePlacement() == TogglePlacement.BELOW_MAP)
 					{
 						manager.updateMinimapToggleButton();
 					}
@@ -365,38 +524,104 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	@Subscribe
 	public void onVarClientIntChanged(VarClientIntChanged event)
 	{
+		if (trace.isRecording())
+		{
+			trace.varClientIntChanged(event.getIndex(), client.getVarcIntValue(event.getIndex()));
+		}
+
+		final long start = profiler.start();
 		if (event.getIndex() == VarClient.SIDE_PANEL_ID)
 		{
+			manager.invalidateLayout();
+
 			if (manager.isEditingLayout &&
-				config.hideMinimapWithSidePanel() && manager.isSidePanelHidden())
+				countedConfig.get().hideMinimapWithSidePanel() && manager.isSidePanelHidden())
 			{
 				editManager.toggleEditMode(false);
 			}
 		}
+
+		profiler.stop(ProfiledEvent.VAR_CLIENT_INT_CHANGED, start);
 	}
 
 	@Subscribe(priority = -1.0f)
 	public void onWidgetLoaded(WidgetLoaded event)
 	{
+		trace.widgetLoaded(event.getGroupId());
+		final long start = profiler.start();
 		int id = event.getGroupId();
+		widgetCache.invalidate(id);
+		propertyWriter.invalidate();
+
 		switch (id)
 		{
 			case Orb.UNIVERSE >> 16:
+				manager.invalidateLayout();
 				manager.update(Script.FORCE_UPDATE);
 				break;
 
 			case Widgets.MinimapOverlay.UNIVERSE >> 16:
+				minimapOverlay.invalidate();
+				minimapFrameCache.invalidate();
 				manager.setupMinimapOverlay();
 				break;
 		}
+
+		profiler.stop(ProfiledEvent.WIDGET_LOADED, start);
+	}
+
+	@Subscribe
+	public void onWidgetClosed(WidgetClosed event)
+	{
+		trace.widgetClosed(event.getGroupId());
+		final long start = profiler.start();
+		widgetCache.invalidate(event.getGroupId());
+		propertyWriter.invalidate();
+
+		//the overlay keeps its own handle to the closed interfaces widget
+		if (event.getGroupId() == Widgets.MinimapOverlay.UNIVERSE >> 16)
+		{
+			minimapOverlay.invalidate();
+			minimapFrameCache.invalidate();
+		}
+
+		profiler.stop(ProfiledEvent.WIDGET_CLOSED, start);
 	}
 
 	@Subscribe(priority = -1.0f)
 	public void onConfigChanged(ConfigChanged event)
+	{
+		trace.configChanged(event.getGroup(), event.getKey(), event.getNewValue());
+		final long start = profiler.start();
+		configChanged(event);
+		profiler.stop(ProfiledEvent.CONFIG_CHANGED, start);
+	}
+
+	private void configChanged(ConfigChanged event)
 	{
 		String group = event.getGroup();
 		String key = event.getKey();
 
+		//refreshed before the flush check, so the state matches our own batched writes too
+		if (group.equals(GROUP_NAME))
+		{
+			manager.refreshConfigState();
+
+			if (key.equals(ConfigKeys.MINIMAP_FRAME_RATE))
+			{
+				minimapFrameCache.setFrameRate(config.minimapFrameRate());
+			}
+		}
+
+		//written by our own batch, the layout was already updated when the writes were queued
+		if (configWrites.isFlushing(group, key))
+		{
+			return;
+		}
+
+		//saved positions, hidden orbs and other plugins configs can all change the layout
+		manager.invalidateLayout();
+
 		if (group.equals(ConfigGroup.Core.MINIMAP))
 		{
 			if (key.equals(ConfigKeys.Core.HIDE_MINIMAP))
@@ -428,6 +653,8 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 			return;
 		}
 
+		savedPositions.update(key, event.getNewValue());
+
 		if (slotRegistry.isSwapConfig(key) || orbRegistry.isHideConfig(key))
 		{
 			if (!manager.isEditingLayout)
@@ -552,6 +779,8 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	public void onProfileChanged(ProfileChanged event)
 	{
 		manager.migrateConfigs();
+		manager.refreshConfigState();
+		savedPositions.invalidate();
 
 		manager.isUpdatingProfile = true;
 		clientThread.invoke(() -> manager.rebuild(false));
@@ -566,6 +795,7 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 			case ConfigGroup.Core.WIKI:
 				clientThread.invokeLater(() ->
 				{
+					manager.invalidateLayout();
 					if (manager.isEditingLayout)
 					{
 						editManager.toggleEditMode(false);
@@ -588,7 +818,99 @@ public class CompactOrbsPlugin extends Plugin implements KeyListener
 	@Subscribe
 	public void onMenuEntryAdded(MenuEntryAdded event)
 	{
+		final long start = stats.start();
 		manager.addCustomMenuEntries(event.getMenuEntry());
+		stats.stop(Timer.MENU_ENTRY_ADDED, start);
+		profiler.stop(ProfiledEvent.MENU_ENTRY_ADDED, start);
+	}
+
+	@Subscribe
+	public void onCommandExecuted(CommandExecuted event)
+	{
+		String[] args = event.getArguments();
+		if (event.getCommand().equalsIgnoreCase(Commands.TRACE))
+		{
+			traceCommand(args.length > 0 ? args[0].toLowerCase() : "");
+			return;
+		}
+
+		if (!event.getCommand().equalsIgnoreCase(Commands.STATS))
+		{
+			return;
+		}
+
+		switch (args.length > 0 ? args[0].toLowerCase() : "")
+		{
+			case "on":
+				stats.setEnabled(true);
+				break;
+
+			case "off":
+				stats.setEnabled(false);
+				break;
+
+			case "reset":
+				manager.resetStats();
+				profiler.reset();
+				break;
+
+			case "csv":
+				//build the rows on the client thread, write the file off it
+				String csv = profiler.toCsv();
+				int truncated = profiler.getTruncatedRows();
+				executor.execute(() ->
+				{
+					try
+					{
+						String path = profiler.write(csv).getAbsolutePath();
+						manager.sendStat("event profile", truncated == 0 ? path
+							: path + " (" + truncated + " rows cover less than " + EventProfiler.WINDOW_SECONDS + "s, see window_s)");
+					}
+					catch (IOException e)
+					{
+						log.warn("unable to write the event profile", e);
+					}
+				});
+				break;
+
+			default:
+				manager.printStats();
+				break;
+		}
+	}
+
+	private void traceCommand(String arg)
+	{
+		switch (arg)
+		{
+			case "start":
+				if (!trace.isRecording())
+				{
+					trace.start();
+					manager.sendStat("event trace", "recording");
+				}
+				break;
+
+			case "stop":
+				byte[] recorded = trace.stop();
+				if (recorded == null)
+				{
+					return;
+				}
+
+				executor.execute(() ->
+				{
+					try
+					{
+						manager.sendStat("event trace", trace.write(recorded).getAbsolutePath());
+					}
+					catch (IOException e)
+					{
+						log.warn("unable to write the event trace", e);
+					}
+				});
+				break;
+		}
 	}
 
 	@Override
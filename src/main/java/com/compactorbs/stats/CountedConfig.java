@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.stats;
+
+import com.compactorbs.CompactOrbsConfig;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+//the config for the hot paths, each getter called through it counts as a config read while stats are enabled
+//while disabled it's the config itself, so reading through it costs one volatile read more
+@Singleton
+public class CountedConfig
+{
+	@Inject
+	private CompactOrbsConfig config;
+
+	@Inject
+	private Stats stats;
+
+	private final CompactOrbsConfig counting = (CompactOrbsConfig) Proxy.newProxyInstance(
+		CompactOrbsConfig.class.getClassLoader(), new Class<?>[]{CompactOrbsConfig.class}, this::read);
+
+	public CompactOrbsConfig get()
+	{
+		return stats.isEnabled() ? counting : config;
+	}
+
+	private Object read(Object proxy, Method method, Object[] args) throws Throwable
+	{
+		stats.count(Counter.CONFIG_READS);
+		try
+		{
+			return method.invoke(config, args);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+}
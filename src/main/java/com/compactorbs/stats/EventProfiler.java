@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.stats;
+
+import com.compactorbs.CompactOrbsConstants.Script;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+//time spent in each event handler, per event and per handled script id for onScriptPostFired
+//shares the on/off switch with stats, rolling p50/p99/max over the last WINDOW_SECONDS, dumped to a csv on demand
+//each ring is sized for its events expected rate, a busier one only keeps its most recent samples and the csv says how
+//many seconds each row actually covers
+@Slf4j
+@Singleton
+public class EventProfiler
+{
+	public static final int WINDOW_SECONDS = 60;
+
+	//samples kept per handled script, they fire far less often than scripts overall
+	private static final int SCRIPT_CAPACITY = 4096;
+
+	//largest ring, 16 bytes a sample
+	private static final int MAX_CAPACITY = 1 << 15;
+
+	private static final File PROFILE_DIR = new File(RuneLite.RUNELITE_DIR, "compact-orbs");
+
+	private static final int[] SCRIPT_IDS;
+	private static final String[] SCRIPT_NAMES;
+
+	static
+	{
+		//every script constant we handle, sorted by id for binarySearch
+		Map<Integer, String> scripts = new TreeMap<>();
+		for (Field field : Script.class.getFields())
+		{
+			if (field.getType() != int.class || !Modifier.isStatic(field.getModifiers()))
+			{
+				continue;
+			}
+
+			try
+			{
+				int id = field.getInt(null);
+
+				//skip FORCE_UPDATE and the cs2 constants
+				if (id >= 0)
+				{
+					scripts.putIfAbsent(id, field.getName());
+				}
+			}
+			catch (IllegalAccessException ignored)
+			{
+			}
+		}
+
+		SCRIPT_IDS = scripts.keySet().stream().mapToInt(Integer::intValue).toArray();
+		SCRIPT_NAMES = scripts.values().toArray(new String[0]);
+	}
+
+	@Inject
+	private Stats stats;
+
+	private final RollingWindow[] events = new RollingWindow[ProfiledEvent.values().length];
+
+	//the last slot collects every other script
+	private final RollingWindow[] scripts = new RollingWindow[SCRIPT_IDS.length + 1];
+
+	private final long[] scratch;
+
+	//rows of the last csv that covered less than the window
+	@Getter
+	private int truncatedRows;
+
+	public EventProfiler()
+	{
+		int largest = SCRIPT_CAPACITY;
+		for (ProfiledEvent event : ProfiledEvent.values())
+		{
+			int capacity = capacity(event.getRate());
+			events[event.ordinal()] = new RollingWindow(capacity);
+			largest = Math.max(largest, capacity);
+		}
+
+		for (int i = 0; i < SCRIPT_IDS.length; i++)
+		{
+			scripts[i] = new RollingWindow(SCRIPT_CAPACITY);
+		}
+
+		//every script we don't handle
+		scripts[SCRIPT_IDS.length] = new RollingWindow(capacity(ProfiledEvent.SCRIPT_POST_FIRED.getRate()));
+
+		scratch = new long[largest];
+	}
+
+	//enough for @rate samples a second over the window
+	private static int capacity(int rate)
+	{
+		int samples = rate * WINDOW_SECONDS;
+		return Math.min(MAX_CAPACITY, Integer.highestOneBit(samples - 1) << 1);
+	}
+
+	//pass the result to stop(...), 0 when disabled
+	public long start()
+	{
+		return stats.start();
+	}
+
+	public void stop(ProfiledEvent event, long start)
+	{
+		if (start != 0)
+		{
+			long end = System.nanoTime();
+			events[event.ordinal()].record(end, end - start);
+		}
+	}
+
+	//records onScriptPostFired, and the script it fired for
+	public void stopScript(int scriptId, long start)
+	{
+		if (start != 0)
+		{
+			long end = System.nanoTime();
+			events[ProfiledEvent.SCRIPT_POST_FIRED.ordinal()].record(end, end - start);
+
+			int index = Arrays.binarySearch(SCRIPT_IDS, scriptId);
+			scripts[index < 0 ? SCRIPT_IDS.length : index].record(end, end - start);
+		}
+	}
+
+	public void reset()
+	{
+		for (RollingWindow window : events)
+		{
+			window.reset();
+		}
+
+		for (RollingWindow window : scripts)
+		{
+			window.reset();
+		}
+	}
+
+	//one row per event/script with samples in the window, durations in microseconds
+	//not thread safe (shared scratch buffer), build it on the client thread and write it elsewhere
+	public String toCsv()
+	{
+		long now = System.nanoTime();
+		long since = now - TimeUnit.SECONDS.toNanos(WINDOW_SECONDS);
+		truncatedRows = 0;
+
+		StringBuilder csv = new StringBuilder("event,script,samples,window_s,p50_us,p99_us,max_us,total_us\n");
+		for (ProfiledEvent event : ProfiledEvent.values())
+		{
+			appendRow(csv, event.getName(), "", events[event.ordinal()], since, now);
+		}
+
+		for (int i = 0; i < scripts.length; i++)
+		{
+			String script = i < SCRIPT_IDS.length ? SCRIPT_NAMES[i] + " (" + SCRIPT_IDS[i] + ")" : "other";
+			appendRow(csv, ProfiledEvent.SCRIPT_POST_FIRED.getName(), script, scripts[i], since, now);
+		}
+
+		return csv.toString();
+	}
+
+	//writes to .runelite/compact-orbs/profile-<time>.csv, file io so keep it off the client thread
+	public File write(String csv) throws IOException
+	{
+		File file = new File(PROFILE_DIR, "profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv");
+
+		Files.createDirectories(PROFILE_DIR.toPath());
+		Files.write(file.toPath(), csv.getBytes(StandardCharsets.UTF_8));
+
+		log.debug("wrote event profile to {}", file);
+		return file;
+	}
+
+	private void appendRow(StringBuilder csv, String event, String script, RollingWindow window, long since, long now)
+	{
+		int count = window.snapshot(since, scratch);
+		if (count == 0)
+		{
+			return;
+		}
+
+		//the ring kept samples for less than the window, the percentiles only cover its most recent part
+		long oldest = window.oldest(since, now);
+		if (window.isFull() && oldest - since > TimeUnit.SECONDS.toNanos(1))
+		{
+			truncatedRows++;
+		}
+
+		long total = 0;
+		for (int i = 0; i < count; i++)
+		{
+			total += scratch[i];
+		}
+
+		csv.append(event).append(',')
+			.append(script).append(',')
+			.append(count).append(',')
+			.append(seconds(now - oldest)).append(',')
+			.append(micros(RollingWindow.percentile(scratch, count, 50))).append(',')
+			.append(micros(RollingWindow.percentile(scratch, count, 99))).append(',')
+			.append(micros(scratch[count - 1])).append(',')
+			.append(micros(total)).append('\n');
+	}
+
+	private static String micros(long nanos)
+	{
+		return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+	}
+
+	private static String seconds(long nanos)
+	{
+		return String.format(Locale.ROOT, "%.1f", nanos / 1e9);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//fixed-size, lock-free histogram of durations in nanoseconds, one bucket per power of two
+//recording is a few atomic adds, percentiles are approximate (the upper bound of the bucket they fall in)
+public class Histogram
+{
+	private static final int BUCKETS = Long.SIZE;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long nanos)
+	{
+		if (nanos < 0)
+		{
+			nanos = 0;
+		}
+
+		buckets.incrementAndGet(bucket(nanos));
+		count.incrementAndGet();
+		total.addAndGet(nanos);
+
+		long current = max.get();
+		while (nanos > current && !max.compareAndSet(current, nanos))
+		{
+			current = max.get();
+		}
+	}
+
+	public long getCount()
+	{
+		return count.get();
+	}
+
+	public long getMean()
+	{
+		long samples = count.get();
+		return samples == 0 ? 0 : total.get() / samples;
+	}
+
+	public long getMax()
+	{
+		return max.get();
+	}
+
+	//@percentile - 0 to 100
+	public long getPercentile(double percentile)
+	{
+		long target = (long) Math.ceil(count.get() * percentile / 100.0);
+		if (target <= 0)
+		{
+			return 0;
+		}
+
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++)
+		{
+			seen += buckets.get(bucket);
+			if (seen >= target)
+			{
+				return Math.min(upperBound(bucket), max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	public void reset()
+	{
+		for (int bucket = 0; bucket < BUCKETS; bucket++)
+		{
+			buckets.set(bucket, 0);
+		}
+
+		count.set(0);
+		total.set(0);
+		max.set(0);
+	}
+
+	//bucket n holds [2^(n-1), 2^n - 1], bucket 0 only holds 0
+	private static int bucket(long nanos)
+	{
+		return Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(nanos));
+	}
+
+	private static long upperBound(int bucket)
+	{
+		return bucket == 0 ? 0 : (1L << bucket) - 1;
+	}
+}
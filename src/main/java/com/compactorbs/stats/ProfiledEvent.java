@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.stats;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//plugin event handlers tracked by the event profiler
+//@rate - the busiest rate the event is expected to fire at per second, the profiler sizes its window for it
+@Getter
+@RequiredArgsConstructor
+public enum ProfiledEvent
+{
+	CLIENT_TICK("onClientTick", 50),
+	//uncapped frame rates
+	BEFORE_RENDER("onBeforeRender", 240),
+	GAME_STATE_CHANGED("onGameStateChanged", 5),
+	//every script the client runs, not only the ones we handle
+	SCRIPT_POST_FIRED("onScriptPostFired", 250),
+	SCRIPT_PRE_FIRED("onScriptPreFired", 250),
+	VARBIT_CHANGED("onVarbitChanged", 100),
+	VAR_CLIENT_INT_CHANGED("onVarClientIntChanged", 50),
+	WIDGET_LOADED("onWidgetLoaded", 10),
+	WIDGET_CLOSED("onWidgetClosed", 10),
+	CONFIG_CHANGED("onConfigChanged", 10),
+	//once per entry, every frame the menu is open
+	MENU_ENTRY_ADDED("onMenuEntryAdded", 250);
+
+	private final String name;
+	private final int rate;
+}
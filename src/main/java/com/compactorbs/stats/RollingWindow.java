@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.stats;
+
+import java.util.Arrays;
+
+//fixed ring of (end time, duration) samples, percentiles only cover the samples within the window
+//when more samples arrive within a window than fit, the oldest ones are overwritten
+class RollingWindow
+{
+	private final int capacity;
+
+	//preallocated, so recording never allocates on the client thread in the middle of a profiled event
+	private final long[] stamps;
+	private final long[] durations;
+
+	private int next;
+	private int size;
+
+	RollingWindow(int capacity)
+	{
+		this.capacity = capacity;
+		this.stamps = new long[capacity];
+		this.durations = new long[capacity];
+	}
+
+	//@end - System.nanoTime() at the end of the sample
+	synchronized void record(long end, long nanos)
+	{
+		stamps[next] = end;
+		durations[next] = nanos;
+		next = (next + 1) % capacity;
+		if (size < capacity)
+		{
+			size++;
+		}
+	}
+
+	//copies the durations recorded after @since into @scratch and sorts them, returns the amount copied
+	synchronized int snapshot(long since, long[] scratch)
+	{
+		int count = 0;
+		for (int i = 0; i < size; i++)
+		{
+			if (stamps[i] - since >= 0)
+			{
+				scratch[count++] = durations[i];
+			}
+		}
+
+		Arrays.sort(scratch, 0, count);
+		return count;
+	}
+
+	//the end time of the oldest sample recorded after @since, or @now if there are none
+	//later than @since when the ring overwrote samples that were still within the window
+	synchronized long oldest(long since, long now)
+	{
+		long oldest = now;
+		for (int i = 0; i < size; i++)
+		{
+			if (stamps[i] - since >= 0 && stamps[i] - oldest < 0)
+			{
+				oldest = stamps[i];
+			}
+		}
+		return oldest;
+	}
+
+	synchronized boolean isFull()
+	{
+		return size == capacity;
+	}
+
+	synchronized void reset()
+	{
+		next = 0;
+		size = 0;
+	}
+
+	//nearest-rank percentile of a sorted snapshot
+	static long percentile(long[] sorted, int count, double percentile)
+	{
+		if (count == 0)
+		{
+			return 0;
+		}
+
+		int rank = (int) Math.ceil(count * percentile / 100.0);
+		return sorted[Math.max(0, Math.min(count, rank) - 1)];
+	}
+}
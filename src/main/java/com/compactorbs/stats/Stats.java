@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.stats;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Singleton;
+import lombok.Getter;
+
+//hot path timers and counters, off unless enabled with the stats command
+//while disabled a timed call costs one volatile read (start returns 0, and stop ignores it)
+@Singleton
+public class Stats
+{
+	private final Histogram[] timers = new Histogram[Timer.values().length];
+	private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+	@Getter
+	private volatile boolean enabled;
+
+	public Stats()
+	{
+		for (int i = 0; i < timers.length; i++)
+		{
+			timers[i] = new Histogram();
+		}
+
+		for (int i = 0; i < counters.length; i++)
+		{
+			counters[i] = new LongAdder();
+		}
+	}
+
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	//pass the result to stop(...), 0 when disabled
+	public long start()
+	{
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	public void stop(Timer timer, long start)
+	{
+		if (start != 0)
+		{
+			timers[timer.ordinal()].record(System.nanoTime() - start);
+		}
+	}
+
+	public void count(Counter counter)
+	{
+		if (enabled)
+		{
+			counters[counter.ordinal()].increment();
+		}
+	}
+
+	public void count(Counter counter, int amount)
+	{
+		if (enabled)
+		{
+			counters[counter.ordinal()].add(amount);
+		}
+	}
+
+	public Histogram get(Timer timer)
+	{
+		return timers[timer.ordinal()];
+	}
+
+	public long get(Counter counter)
+	{
+		return counters[counter.ordinal()].sum();
+	}
+
+	public void reset()
+	{
+		for (Histogram timer : timers)
+		{
+			timer.reset();
+		}
+
+		for (LongAdder counter : counters)
+		{
+			counter.reset();
+		}
+	}
+
+	//ex: 120 calls, p50 1.2us, p99 3.4us, max 10.1us
+	public static String describe(Histogram histogram)
+	{
+		return histogram.getCount() + " calls, p50 " + micros(histogram.getPercentile(50))
+			+ ", p99 " + micros(histogram.getPercentile(99))
+			+ ", max " + micros(histogram.getMax());
+	}
+
+	public static String micros(long nanos)
+	{
+		return String.format(Locale.ROOT, "%.1fus", nanos / 1000.0);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.trace;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+//binary trace layout, shared by the recorder and the reader
+//header: MAGIC, VERSION, start time (epoch ms), game state, resized, varbits, varcs, plugin configs
+//then records: a type byte followed by its payload, ints are unsigned varints unless noted (zigzag)
+//strings are a varint byte length followed by their utf-8 bytes
+final class TraceFormat
+{
+	static final int MAGIC = 0x434F5452; //COTR
+	static final int VERSION = 2;
+
+	//varint micros since the previous tick, the only record carrying time
+	static final byte CLIENT_TICK = 0;
+	//script id
+	static final byte SCRIPT_POST_FIRED = 1;
+	//varbit id, value (zigzag)
+	static final byte VARBIT_CHANGED = 2;
+	//varc index, value (zigzag)
+	static final byte VAR_CLIENT_INT_CHANGED = 3;
+	//group, key (string), has value (boolean), value (string)
+	static final byte CONFIG_CHANGED = 4;
+	//game state (GameState#getState, zigzag)
+	static final byte GAME_STATE_CHANGED = 5;
+	//group id
+	static final byte WIDGET_LOADED = 6;
+	//group id
+	static final byte WIDGET_CLOSED = 7;
+	//resized (boolean)
+	static final byte RESIZED = 8;
+	//dragged target component id (zigzag, -1 for none), mouse button, origin x/y, current x/y (zigzag)
+	static final byte DRAG = 9;
+
+	private TraceFormat()
+	{
+	}
+
+	static void writeVarInt(DataOutput out, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static int readVarInt(DataInput in) throws IOException
+	{
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7)
+		{
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+	static void writeSigned(DataOutput out, int value) throws IOException
+	{
+		writeVarInt(out, (value << 1) ^ (value >> 31));
+	}
+
+	static int readSigned(DataInput in) throws IOException
+	{
+		int value = readVarInt(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	//unlike writeUTF, not limited to 64kb
+	static void writeString(DataOutput out, String value) throws IOException
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInput in) throws IOException
+	{
+		int length = readVarInt(in);
+		if (length < 0)
+		{
+			throw new IOException("malformed string length " + length);
+		}
+
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
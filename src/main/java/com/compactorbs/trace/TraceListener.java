@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.trace;
+
+import java.util.Map;
+import net.runelite.api.GameState;
+
+//receives a trace in recorded order, see TraceReader
+public interface TraceListener
+{
+	//client state and plugin configs at the moment recording started
+	void start(long startMillis, GameState gameState, boolean resized,
+		Map<Integer, Integer> varbits, Map<Integer, Integer> varcs, Map<String, String> configs);
+
+	//@micros - time since the previous tick
+	void clientTick(int micros);
+
+	void scriptPostFired(int scriptId);
+
+	void varbitChanged(int varbitId, int value);
+
+	void varClientIntChanged(int index, int value);
+
+	//@value - null when unset
+	void configChanged(String group, String key, String value);
+
+	void gameStateChanged(GameState gameState);
+
+	void widgetLoaded(int groupId);
+
+	void widgetClosed(int groupId);
+
+	void resized(boolean resized);
+
+	//the mouse state before the tick that follows, @targetId is the component id of the dragged handlers target or -1
+	void drag(int targetId, int mouseButton, int originX, int originY, int currentX, int currentY);
+}
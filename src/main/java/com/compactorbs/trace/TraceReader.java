@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.trace;
+
+import static com.compactorbs.trace.TraceFormat.readSigned;
+import static com.compactorbs.trace.TraceFormat.readString;
+import static com.compactorbs.trace.TraceFormat.readVarInt;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.runelite.api.GameState;
+
+//reads a trace written by TraceRecorder back into a listener
+public final class TraceReader
+{
+	private TraceReader()
+	{
+	}
+
+	//@return the amount of records read
+	public static int read(InputStream input, TraceListener listener) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+		if (in.readInt() != TraceFormat.MAGIC)
+		{
+			throw new IOException("not a compact orbs trace");
+		}
+
+		int version = in.readInt();
+		if (version != TraceFormat.VERSION)
+		{
+			throw new IOException("unsupported trace version " + version);
+		}
+
+		long startMillis = in.readLong();
+		GameState gameState = GameState.of(readSigned(in));
+		boolean resized = in.readBoolean();
+		Map<Integer, Integer> varbits = readInts(in);
+		Map<Integer, Integer> varcs = readInts(in);
+
+		Map<String, String> configs = new LinkedHashMap<>();
+		for (int i = readVarInt(in); i > 0; i--)
+		{
+			configs.put(readString(in), readString(in));
+		}
+
+		listener.start(startMillis, gameState, resized, varbits, varcs, configs);
+
+		int records = 0;
+		while (true)
+		{
+			int type = in.read();
+			if (type == -1)
+			{
+				return records;
+			}
+
+			try
+			{
+				readRecord(in, (byte) type, listener);
+			}
+			catch (EOFException e)
+			{
+				//the recording was cut off mid record, keep what was complete
+				return records;
+			}
+			records++;
+		}
+	}
+
+	private static void readRecord(DataInputStream in, byte type, TraceListener listener) throws IOException
+	{
+		switch (type)
+		{
+			case TraceFormat.CLIENT_TICK:
+				listener.clientTick(readVarInt(in));
+				break;
+			case TraceFormat.SCRIPT_POST_FIRED:
+				listener.scriptPostFired(readVarInt(in));
+				break;
+			case TraceFormat.VARBIT_CHANGED:
+				listener.varbitChanged(readVarInt(in), readSigned(in));
+				break;
+			case TraceFormat.VAR_CLIENT_INT_CHANGED:
+				listener.varClientIntChanged(readVarInt(in), readSigned(in));
+				break;
+			case TraceFormat.CONFIG_CHANGED:
+				String group = readString(in);
+				String key = readString(in);
+				listener.configChanged(group, key, in.readBoolean() ? readString(in) : null);
+				break;
+			case TraceFormat.GAME_STATE_CHANGED:
+				listener.gameStateChanged(GameState.of(readSigned(in)));
+				break;
+			case TraceFormat.WIDGET_LOADED:
+				listener.widgetLoaded(readVarInt(in));
+				break;
+			case TraceFormat.WIDGET_CLOSED:
+				listener.widgetClosed(readVarInt(in));
+				break;
+			case TraceFormat.RESIZED:
+				listener.resized(in.readBoolean());
+				break;
+			case TraceFormat.DRAG:
+				listener.drag(readSigned(in), readVarInt(in),
+					readSigned(in), readSigned(in), readSigned(in), readSigned(in));
+				break;
+			default:
+				throw new IOException("unknown trace record " + type);
+		}
+	}
+
+	private static Map<Integer, Integer> readInts(DataInputStream in) throws IOException
+	{
+		Map<Integer, Integer> values = new HashMap<>();
+		for (int i = readVarInt(in); i > 0; i--)
+		{
+			values.put(readVarInt(in), readSigned(in));
+		}
+		return values;
+	}
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.trace;
+
+import static com.compactorbs.CompactOrbsConstants.ConfigGroup.GROUP_NAME;
+import com.compactorbs.CompactOrbsConstants.ConfigGroup;
+import com.compactorbs.CompactOrbsConstants.ConfigKeys;
+import com.compactorbs.CompactOrbsConstants.VarClient;
+import com.compactorbs.CompactOrbsConstants.Varbit;
+import com.compactorbs.widget.layout.edit.DragState;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.client.RuneLite;
+import net.runelite.client.config.ConfigManager;
+
+//records the events the plugin sees into a compact binary trace (see TraceFormat), replayed headlessly from the jmh source set
+//recording is held in memory and written out when it stops, while not recording each hook is a single volatile read
+//a failed write stops the recording instead of throwing out of the event handler that recorded it
+@Slf4j
+@Singleton
+public class TraceRecorder
+{
+	//recording stops by itself past this
+	private static final int MAX_BYTES = 16 << 20;
+
+	private static final File TRACE_DIR = new File(RuneLite.RUNELITE_DIR, "compact-orbs");
+
+	//client state the layout depends on, captured when recording starts
+	private static final int[] VARBITS = {
+		Varbit.RESIZABLE_STONE_ARRANGEMENT,
+		Varbit.MINIMAP_TOGGLE,
+		Varbit.STORE_ORB_TOGGLE,
+		Varbit.ACTIVITY_ORB_TOGGLE,
+		Varbit.WIKI_ICON_TOGGLE,
+		Varbit.CUTSCENE_STATUS
+	};
+
+	private static final int[] VARCS = {
+		VarClient.SIDE_PANEL_ID
+	};
+
+	//other plugins configs we read, {group, key}
+	private static final String[][] CORE_CONFIGS = {
+		{ConfigGroup.Core.RUNELITE, ConfigKeys.Core.WIKI_PLUGIN},
+		{ConfigGroup.Core.WIKI, ConfigKeys.Core.SHOW_WIKI_MINIMAP_BUTTON},
+		{ConfigGroup.Core.RUNELITE, ConfigKeys.Core.MINIMAP_PLUGIN},
+		{ConfigGroup.Core.MINIMAP, ConfigKeys.Core.HIDE_MINIMAP}
+	};
+
+	@Inject
+	private Client client;
+
+	@Inject
+	private ConfigManager configManager;
+
+	@Getter
+	private volatile boolean recording;
+
+	private ByteArrayOutputStream bytes;
+	private DataOutputStream out;
+	//size of the trace up to the last complete record
+	private int complete;
+	private long lastTick;
+	private boolean lastResized;
+
+	//client thread
+	public synchronized void start()
+	{
+		bytes = new ByteArrayOutputStream(64 << 10);
+		out = new DataOutputStream(bytes);
+		lastTick = System.nanoTime();
+		lastResized = client.isResized();
+
+		try
+		{
+			out.writeInt(TraceFormat.MAGIC);
+			out.writeInt(TraceFormat.VERSION);
+			out.writeLong(System.currentTimeMillis());
+			TraceFormat.writeSigned(out, client.getGameState().getState());
+			out.writeBoolean(lastResized);
+
+			TraceFormat.writeVarInt(out, VARBITS.length);
+			for (int varbit : VARBITS)
+			{
+				TraceFormat.writeVarInt(out, varbit);
+				TraceFormat.writeSigned(out, client.getVarbitValue(varbit));
+			}
+
+			TraceFormat.writeVarInt(out, VARCS.length);
+			for (int varc : VARCS)
+			{
+				TraceFormat.writeVarInt(out, varc);
+				TraceFormat.writeSigned(out, client.getVarcIntValue(varc));
+			}
+
+			writeConfigs();
+			complete = bytes.size();
+		}
+		catch (IOException e)
+		{
+			//in memory, doesn't happen
+			throw new IllegalStateException(e);
+		}
+
+		recording = true;
+		log.debug("started recording an event trace");
+	}
+
+	//@return the trace, or null if nothing was being recorded
+	public synchronized byte[] stop()
+	{
+		if (bytes == null)
+		{
+			return null;
+		}
+
+		recording = false;
+		//drop a record cut off by a failed write
+		byte[] trace = Arrays.copyOf(bytes.toByteArray(), complete);
+		bytes = null;
+		out = null;
+		return trace;
+	}
+
+	//writes to .runelite/compact-orbs/trace-<time>.bin, file io so keep it off the client thread
+	public File write(byte[] trace) throws IOException
+	{
+		File file = new File(TRACE_DIR, "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".bin");
+
+		Files.createDirectories(TRACE_DIR.toPath());
+		Files.write(file.toPath(), trace);
+
+		log.debug("wrote {} byte event trace to {}", trace.length, file);
+		return file;
+	}
+
+	public void clientTick()
+	{
+		if (!recording)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			try
+			{
+				boolean resized = client.isResized();
+				if (resized != lastResized && begin(TraceFormat.RESIZED))
+				{
+					lastResized = resized;
+					out.writeBoolean(resized);
+					end();
+				}
+
+				if (begin(TraceFormat.CLIENT_TICK))
+				{
+					long now = System.nanoTime();
+					TraceFormat.writeVarInt(out, (int) Math.min(Integer.MAX_VALUE, (now - lastTick) / 1000));
+					lastTick = now;
+					end();
+				}
+			}
+			catch (IOException e)
+			{
+				fail(e);
+			}
+		}
+	}
+
+	//the mouse state this tick will see, recorded before the tick itself
+	//@origin/@current - packed DragState positions
+	public void drag(int targetId, int mouseButton, long origin, long current)
+	{
+		if (!recording)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			try
+			{
+				if (begin(TraceFormat.DRAG))
+				{
+					TraceFormat.writeSigned(out, targetId);
+					TraceFormat.writeVarInt(out, mouseButton);
+					TraceFormat.writeSigned(out, DragState.x(origin));
+					TraceFormat.writeSigned(out, DragState.y(origin));
+					TraceFormat.writeSigned(out, DragState.x(current));
+					TraceFormat.writeSigned(out, DragState.y(current));
+					end();
+				}
+			}
+			catch (IOException e)
+			{
+				fail(e);
+			}
+		}
+	}
+
+	public void scriptPostFired(int scriptId)
+	{
+		record(TraceFormat.SCRIPT_POST_FIRED, scriptId);
+	}
+
+	public void varbitChanged(int varbitId, int value)
+	{
+		//varp only changes (-1) are frequent and never reach the layout
+		if (varbitId == -1)
+		{
+			return;
+		}
+
+		record(TraceFormat.VARBIT_CHANGED, varbitId, value);
+	}
+
+	public void varClientIntChanged(int index, int value)
+	{
+		record(TraceFormat.VAR_CLIENT_INT_CHANGED, index, value);
+	}
+
+	public void gameStateChanged(GameState gameState)
+	{
+		if (!recording)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			try
+			{
+				if (begin(TraceFormat.GAME_STATE_CHANGED))
+				{
+					TraceFormat.writeSigned(out, gameState.getState());
+					end();
+				}
+			}
+			catch (IOException e)
+			{
+				fail(e);
+			}
+		}
+	}
+
+	public void widgetLoaded(int groupId)
+	{
+		record(TraceFormat.WIDGET_LOADED, groupId);
+	}
+
+	public void widgetClosed(int groupId)
+	{
+		record(TraceFormat.WIDGET_CLOSED, groupId);
+	}
+
+	//any thread
+	//only the configs the plugin reads, other plugins can store large values (json) under their own groups
+	public void configChanged(String group, String key, String value)
+	{
+		if (!recording || !isRecordedConfig(group, key))
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			try
+			{
+				if (begin(TraceFormat.CONFIG_CHANGED))
+				{
+					TraceFormat.writeString(out, group);
+					TraceFormat.writeString(out, key);
+					out.writeBoolean(value != null);
+					if (value != null)
+					{
+						TraceFormat.writeString(out, value);
+					}
+					end();
+				}
+			}
+			catch (IOException e)
+			{
+				fail(e);
+			}
+		}
+	}
+
+	private static boolean isRecordedConfig(String group, String key)
+	{
+		if (GROUP_NAME.equals(group))
+		{
+			return true;
+		}
+
+		for (String[] config : CORE_CONFIGS)
+		{
+			if (config[0].equals(group) && config[1].equals(key))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void record(byte type, int value)
+	{
+		if (!recording)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			try
+			{
+				if (begin(type))
+				{
+					TraceFormat.writeVarInt(out, value);
+					end();
+				}
+			}
+			catch (IOException e)
+			{
+				fail(e);
+			}
+		}
+	}
+
+	private void record(byte type, int id, int value)
+	{
+		if (!recording)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			try
+			{
+				if (begin(type))
+				{
+					TraceFormat.writeVarInt(out, id);
+					TraceFormat.writeSigned(out, value);
+					end();
+				}
+			}
+			catch (IOException e)
+			{
+				fail(e);
+			}
+		}
+	}
+
+	//@return false if recording stopped in the meantime, or just ran out of room
+	private boolean begin(byte type)
+	{
+		if (out == null || !recording)
+		{
+			return false;
+		}
+
+		if (bytes.size() > MAX_BYTES)
+		{
+			log.warn("event trace reached {} bytes, recording stopped", MAX_BYTES);
+			recording = false;
+			return false;
+		}
+
+		bytes.write(type);
+		return true;
+	}
+
+	private void end()
+	{
+		complete = bytes.size();
+	}
+
+	//keeps the records written so far, stop() still returns them
+	private void fail(IOException e)
+	{
+		log.warn("failed to write to the event trace, recording stopped", e);
+		recording = false;
+	}
+
+	private void writeConfigs() throws IOException
+	{
+		List<String[]> configs = new ArrayList<>();
+		for (String key : configManager.getConfigurationKeys(GROUP_NAME + "."))
+		{
+			//keys come back with their group, ex: compactorbs.hideHp
+			String name = key.startsWith(GROUP_NAME + ".") ? key.substring(GROUP_NAME.length() + 1) : key;
+			configs.add(new String[]{GROUP_NAME, name});
+		}
+
+		configs.addAll(Arrays.asList(CORE_CONFIGS));
+
+		List<String[]> values = new ArrayList<>();
+		for (String[] config : configs)
+		{
+			String value = configManager.getConfiguration(config[0], config[1]);
+			if (value != null)
+			{
+				values.add(new String[]{config[0] + "." + config[1], value});
+			}
+		}
+
+		TraceFormat.writeVarInt(out, values.size());
+		for (String[] value : values)
+		{
+			TraceFormat.writeString(out, value[0]);
+			TraceFormat.writeString(out, value[1]);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.util;
+
+import static com.compactorbs.CompactOrbsConstants.ConfigGroup.GROUP_NAME;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+//write-behind for configs changed while editing (saved positions, swapped orbs, hidden orbs)
+//writes are coalesced per key and flushed as one batch when a drag ends or edit-mode closes,
+//the layout is already updated when they are queued, so the ConfigChanged events they fire can be ignored
+@Slf4j
+@Singleton
+public class ConfigWriteQueue
+{
+	private static final Object UNSET = new Object();
+
+	@Inject
+	private ConfigManager configManager;
+
+	private Map<String, Object> pending = new LinkedHashMap<>();
+	private Map<String, Object> inFlight = new LinkedHashMap<>();
+	private volatile boolean flushing;
+
+	public void set(String key, Object value)
+	{
+		pending.put(key, value);
+	}
+
+	public void unset(String key)
+	{
+		pending.put(key, UNSET);
+	}
+
+	public void flush()
+	{
+		if (flushing || pending.isEmpty())
+		{
+			return;
+		}
+
+		//swap the maps, anything queued by a listener while flushing goes out with the next batch
+		Map<String, Object> batch = pending;
+		pending = inFlight;
+		inFlight = batch;
+
+		log.debug("Flushing {} config writes", batch.size());
+
+		flushing = true;
+		try
+		{
+			for (Map.Entry<String, Object> entry : batch.entrySet())
+			{
+				if (entry.getValue() == UNSET)
+				{
+					configManager.unsetConfiguration(GROUP_NAME, entry.getKey());
+				}
+				else
+				{
+					configManager.setConfiguration(GROUP_NAME, entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		finally
+		{
+			batch.clear();
+			flushing = false;
+		}
+	}
+
+	//profile swaps / full resets, nothing from the previous edit session should be written
+	public void discard()
+	{
+		pending.clear();
+	}
+
+	//@return true if the ConfigChanged event was fired by our own flush
+	public boolean isFlushing(String group, String key)
+	{
+		return flushing && GROUP_NAME.equals(group) && inFlight.containsKey(key);
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget;
+
+import com.compactorbs.CompactOrbsConstants.Sprite;
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.stats.Counter;
+import com.compactorbs.stats.Stats;
+import java.awt.Rectangle;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.widgets.Widget;
+
+//the client still draws the minimap content (the map, dots) for a minimap widget that can't be seen
+//so its rendering is removed for as long as it stays out of sight, and restored the moment it can be seen again
+//checked once per frame, the widgets are only written on a change
+@Singleton
+public class MinimapRendering
+{
+	@Inject
+	private Client client;
+
+	@Inject
+	private CompactOrbsManager manager;
+
+	@Inject
+	private WidgetManager widgetManager;
+
+	@Inject
+	private Stats stats;
+
+	//the widgets that currently have their rendering removed, null when rendered as usual
+	private Widget suppressedMask;
+	private Widget suppressedDetached;
+
+	//the detached minimap bounds are only checked against the canvas when something moved
+	private int lastParentX = Integer.MIN_VALUE;
+	private int lastParentY;
+	private int lastCanvasWidth;
+	private int lastCanvasHeight;
+	private boolean offCanvas;
+
+	public void update()
+	{
+		final Widget mask = widgetManager.getMinimapMask();
+		suppressedMask = apply(mask, suppressedMask, mask != null && hideMask(),
+			manager.isFixedMode() ? Sprite.FIXED_MINIMAP_MASK : Sprite.MINIMAP_MASK);
+
+		final Widget detached = manager.getOverlayMinimap();
+		suppressedDetached = apply(detached, suppressedDetached, detached != null && hideDetached(detached),
+			Sprite.MINIMAP_MASK);
+
+		if (suppressedMask != null || suppressedDetached != null)
+		{
+			stats.count(Counter.SUPPRESSED_MINIMAP_FRAMES);
+		}
+	}
+
+	public boolean isDetachedSuppressed()
+	{
+		return suppressedDetached != null;
+	}
+
+	//render both as usual, for shutdown
+	public void reset()
+	{
+		suppressedMask = apply(widgetManager.getMinimapMask(), suppressedMask, false,
+			manager.isFixedMode() ? Sprite.FIXED_MINIMAP_MASK : Sprite.MINIMAP_MASK);
+		suppressedDetached = apply(manager.getOverlayMinimap(), suppressedDetached, false, Sprite.MINIMAP_MASK);
+		lastParentX = Integer.MIN_VALUE;
+	}
+
+	//returns the widget left suppressed
+	private Widget apply(Widget widget, Widget suppressed, boolean hide, int maskSpriteId)
+	{
+		if (suppressed != null && (suppressed != widget || !hide))
+		{
+			//a widget that was replaced (interface reload, display mode change) is gone, and has nothing to restore
+			if (suppressed == widget)
+			{
+				widgetManager.restoreMinimapRendering(widget, maskSpriteId);
+			}
+			suppressed = null;
+		}
+
+		if (hide && suppressed == null)
+		{
+			widgetManager.removeMinimapRendering(widget);
+			suppressed = widget;
+		}
+
+		return suppressed;
+	}
+
+	//the minimap is replaced by the compact layout (and the side panel hiding, which only applies to it), or minimized
+	//edit mode takes over the minimap clicks, so the map isn't drawn there either
+	private boolean hideMask()
+	{
+		return manager.isEditingLayout
+			|| !manager.isCutsceneActive && manager.isCompactLayout()
+			|| manager.isMinimapMinimized();
+	}
+
+	private boolean hideDetached(Widget widget)
+	{
+		return manager.hideMinimapOverlay() || isOffCanvas(widget);
+	}
+
+	private boolean isOffCanvas(Widget widget)
+	{
+		final Widget parent = widget.getParent();
+		final int parentX = parent == null ? 0 : parent.getRelativeX();
+		final int parentY = parent == null ? 0 : parent.getRelativeY();
+		final int canvasWidth = client.getCanvasWidth();
+		final int canvasHeight = client.getCanvasHeight();
+
+		if (parentX != lastParentX || parentY != lastParentY
+			|| canvasWidth != lastCanvasWidth || canvasHeight != lastCanvasHeight)
+		{
+			lastParentX = parentX;
+			lastParentY = parentY;
+			lastCanvasWidth = canvasWidth;
+			lastCanvasHeight = canvasHeight;
+
+			final Rectangle bounds = widget.getBounds();
+			offCanvas = bounds == null || !bounds.intersects(0, 0, canvasWidth, canvasHeight);
+		}
+
+		return offCanvas;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget;
+
+import com.compactorbs.CompactOrbsConstants.Script;
+import com.compactorbs.stats.Counter;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.util.ValueKey;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.widgets.Widget;
+
+//writes ValueKey properties straight through the widget, without binding a getter/setter pair per write
+//the last value written to each target is kept in a shadow copy, so an unchanged property skips both the read and the write
+//the shadow is only trusted while nothing else could have touched the widget: a script not known to leave positions alone,
+//the widget being recreated, or one of our own writes outside a remap (drags, saved position resets) start a new epoch
+//and the next write reads the widget again
+@Singleton
+public class PropertyWriter
+{
+	private static final int KEYS = ValueKey.values().length;
+
+	//scripts that only swap sprites or set menu ops, sorted for the binary search
+	private static final int[] POSITION_SAFE_SCRIPTS = {
+		Script.GRAPHIC_SWAPPER,
+		Script.TOPLEVEL_SIDEBUTTON_OP,
+		Script.TOPLEVEL_COMPASS_OP,
+		Script.TOPLEVEL_COMPASS_SETOPS
+	};
+
+	@Inject
+	private Stats stats;
+
+	//by TargetRegistry id
+	private final Widget[] owners = new Widget[TargetRegistry.COUNT];
+	private final int[] epochs = new int[TargetRegistry.COUNT];
+
+	//bit per ValueKey, set once the shadow holds a value for that key
+	private final int[] known = new int[TargetRegistry.COUNT];
+
+	//by TargetRegistry id * KEYS + ValueKey ordinal
+	private final int[] shadow = new int[TargetRegistry.COUNT * KEYS];
+
+	private int epoch = 1;
+
+	public void invalidate()
+	{
+		epoch++;
+	}
+
+	//a script we don't know to leave positions alone may have moved any target, ours or not (cs2 or another plugin)
+	public void invalidateByScriptId(int scriptId)
+	{
+		if (Arrays.binarySearch(POSITION_SAFE_SCRIPTS, scriptId) < 0)
+		{
+			invalidate();
+		}
+	}
+
+	//@return true if the widget was changed
+	public boolean write(TargetWidget target, Widget widget, ValueKey key, int value)
+	{
+		final int ordinal = TargetRegistry.id(target);
+		if (owners[ordinal] != widget || epochs[ordinal] != epoch)
+		{
+			owners[ordinal] = widget;
+			epochs[ordinal] = epoch;
+			known[ordinal] = 0;
+		}
+
+		final int slot = ordinal * KEYS + key.ordinal();
+		final int bit = 1 << key.ordinal();
+		if ((known[ordinal] & bit) != 0 && shadow[slot] == value)
+		{
+			stats.count(Counter.SHADOW_HITS);
+			return false;
+		}
+
+		shadow[slot] = value;
+		known[ordinal] |= bit;
+		return write(widget, key, value);
+	}
+
+	//without the shadow copy, for widgets that aren't targets or writes that shouldn't be remembered
+	public boolean write(Widget widget, ValueKey key, int value)
+	{
+		if (read(widget, key) == value)
+		{
+			return false;
+		}
+
+		switch (key)
+		{
+			case X:
+				widget.setOriginalX(value);
+				break;
+			case Y:
+				widget.setOriginalY(value);
+				break;
+			case WIDTH:
+				widget.setOriginalWidth(value);
+				break;
+			case HEIGHT:
+				widget.setOriginalHeight(value);
+				break;
+			case X_POSITION_MODE:
+				widget.setXPositionMode(value);
+				break;
+			case Y_POSITION_MODE:
+				widget.setYPositionMode(value);
+				break;
+			case WIDTH_MODE:
+				widget.setWidthMode(value);
+				break;
+			case HEIGHT_MODE:
+				widget.setHeightMode(value);
+				break;
+		}
+
+		stats.count(Counter.WIDGET_WRITES);
+		return true;
+	}
+
+	private static int read(Widget widget, ValueKey key)
+	{
+		switch (key)
+		{
+			case X:
+				return widget.getOriginalX();
+			case Y:
+				return widget.getOriginalY();
+			case WIDTH:
+				return widget.getOriginalWidth();
+			case HEIGHT:
+				return widget.getOriginalHeight();
+			case X_POSITION_MODE:
+				return widget.getXPositionMode();
+			case Y_POSITION_MODE:
+				return widget.getYPositionMode();
+			case WIDTH_MODE:
+				return widget.getWidthMode();
+			case HEIGHT_MODE:
+				return widget.getHeightMode();
+		}
+		throw new IllegalStateException("Unhandled ValueKey (" + key + ") for widget: " + widget.getId());
+	}
+}
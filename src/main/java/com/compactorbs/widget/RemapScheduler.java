@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget;
+
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.stats.CountedConfig;
+import com.compactorbs.widget.elements.Orbs;
+import java.util.EnumSet;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+//script triggered updates are only marked dirty when the script fires, and applied once before the next frame
+//the toplevel scripts can fire several times per frame, and each one would otherwise redo the same remap
+@Slf4j
+@Singleton
+public class RemapScheduler
+{
+	//subsystems updated on their own, outside the orb remaps
+	private static final int WIKI_BANNER = 1;
+	private static final int CUSTOM_CHILDREN = 1 << 1;
+	private static final int NO_CLICK_THROUGH = 1 << 2;
+	private static final int LOGOUT_X = 1 << 3;
+	private static final int MINIMAP_TAB = 1 << 4;
+
+	//only a handful of scripts remap orbs
+	private static final int MAX_SCRIPTS = 16;
+
+	@Inject
+	private CompactOrbsManager manager;
+
+	@Inject
+	private CountedConfig countedConfig;
+
+	@Inject
+	private WidgetManager widgetManager;
+
+	@Inject
+	private RevalidationBatch revalidations;
+
+	private final Set<Orbs> dirtyTargets = EnumSet.noneOf(Orbs.class);
+	private final int[] dirtyScripts = new int[MAX_SCRIPTS];
+	private int dirtyScriptCount;
+	private int dirtySubsystems;
+
+	//requests that were already covered by pending work, and didn't need a remap of their own
+	@Getter
+	private long avoidedRemaps;
+
+	@Getter
+	private long flushes;
+
+	//same work as CompactOrbsManager.update(scriptId), deferred to the next flush
+	public void scheduleUpdate(int scriptId)
+	{
+		boolean changed = markScript(scriptId);
+		changed |= markSubsystems(WIKI_BANNER | CUSTOM_CHILDREN | NO_CLICK_THROUGH);
+
+		for (Orbs orb : Orbs.byScriptId(scriptId))
+		{
+			changed |= dirtyTargets.add(orb);
+		}
+
+		countAvoided(changed);
+	}
+
+	//hide/reposition the logout-x and the minimap with the side panel
+	public void scheduleToplevel()
+	{
+		countAvoided(markSubsystems(LOGOUT_X | MINIMAP_TAB));
+	}
+
+	public void scheduleWikiBanner()
+	{
+		countAvoided(markSubsystems(WIKI_BANNER));
+	}
+
+	public void scheduleNoClickThrough()
+	{
+		countAvoided(markSubsystems(NO_CLICK_THROUGH));
+	}
+
+	public boolean isDirty()
+	{
+		return dirtySubsystems != 0 || dirtyScriptCount != 0 || !dirtyTargets.isEmpty();
+	}
+
+	//called before every frame, and before anything that needs the layout up to date (edit-mode)
+	public void flush()
+	{
+		if (!isDirty())
+		{
+			return;
+		}
+
+		final int subsystems = dirtySubsystems;
+		dirtySubsystems = 0;
+
+		//edit-mode handles these scripts itself, pending updates from before it was enabled are stale
+		if (manager.isEditingLayout)
+		{
+			clear();
+			return;
+		}
+
+		flushes++;
+
+		if ((subsystems & WIKI_BANNER) != 0)
+		{
+			manager.updateWikiBannerVisibility(countedConfig.get().hideWiki());
+		}
+
+		for (int i = 0; i < dirtyScriptCount; i++)
+		{
+			manager.hideOrbByScript(dirtyScripts[i]);
+		}
+		dirtyScriptCount = 0;
+
+		if ((subsystems & CUSTOM_CHILDREN) != 0)
+		{
+			manager.createCustomChildren();
+		}
+
+		if (!dirtyTargets.isEmpty())
+		{
+			revalidations.begin();
+			try
+			{
+				widgetManager.remapTargets(dirtyTargets);
+			}
+			finally
+			{
+				revalidations.end();
+			}
+			dirtyTargets.clear();
+		}
+
+		if ((subsystems & NO_CLICK_THROUGH) != 0)
+		{
+			manager.updateNoClickThrough();
+		}
+
+		if ((subsystems & LOGOUT_X) != 0)
+		{
+			manager.hideLogout();
+			manager.updateLogoutXOverlay();
+		}
+
+		if ((subsystems & MINIMAP_TAB) != 0)
+		{
+			manager.hideMinimapOnTabClose(countedConfig.get().hideMinimapWithSidePanel());
+		}
+	}
+
+	public void clear()
+	{
+		dirtyTargets.clear();
+		dirtyScriptCount = 0;
+		dirtySubsystems = 0;
+	}
+
+	public void resetStats()
+	{
+		avoidedRemaps = 0;
+		flushes = 0;
+	}
+
+	private void countAvoided(boolean changed)
+	{
+		if (!changed)
+		{
+			avoidedRemaps++;
+		}
+	}
+
+	private boolean markSubsystems(int subsystems)
+	{
+		boolean changed = (dirtySubsystems & subsystems) != subsystems;
+		dirtySubsystems |= subsystems;
+		return changed;
+	}
+
+	private boolean markScript(int scriptId)
+	{
+		for (int i = 0; i < dirtyScriptCount; i++)
+		{
+			if (dirtyScripts[i] == scriptId)
+			{
+				return false;
+			}
+		}
+
+		if (dirtyScriptCount == MAX_SCRIPTS)
+		{
+			//shouldn't happen, apply what's pending rather than dropping the script
+			log.debug("Too many pending scripts, flushing early");
+			flush();
+		}
+
+		dirtyScripts[dirtyScriptCount++] = scriptId;
+		return true;
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import javax.inject.Singleton;
+import lombok.Getter;
+import net.runelite.api.widgets.Widget;
+
+//collects the widgets changed during a remap pass, and revalidates each one once at the end
+//revalidating a widget lays out its whole subtree, so a widget with a changed ancestor is covered by that ancestors
+//revalidate, and only the lowest changed ancestor of each subtree is revalidated
+//the batch never climbs to an ancestor that wasn't changed itself: laying out the map/orbs containers again would
+//undo the orbs universe size set in setupMinimapContainer
+@Singleton
+public class RevalidationBatch
+{
+	private final List<Widget> touched = new ArrayList<>();
+	private final Set<Widget> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private int depth;
+
+	//revalidate calls made by the remaps, and the ones actually done
+	@Getter
+	private long requested;
+
+	@Getter
+	private long revalidated;
+
+	public void begin()
+	{
+		depth++;
+	}
+
+	public void end()
+	{
+		if (depth == 0 || --depth > 0)
+		{
+			return;
+		}
+
+		try
+		{
+			flush();
+		}
+		finally
+		{
+			touched.clear();
+			seen.clear();
+		}
+	}
+
+	//revalidated right away outside of a batch
+	public void revalidate(Widget widget)
+	{
+		requested++;
+
+		if (depth == 0)
+		{
+			revalidated++;
+			widget.revalidate();
+			return;
+		}
+
+		if (seen.add(widget))
+		{
+			touched.add(widget);
+		}
+	}
+
+	public void resetStats()
+	{
+		requested = 0;
+		revalidated = 0;
+	}
+
+	private void flush()
+	{
+		for (Widget widget : touched)
+		{
+			if (hasTouchedAncestor(widget))
+			{
+				continue;
+			}
+
+			revalidated++;
+			widget.revalidate();
+		}
+	}
+
+	private boolean hasTouchedAncestor(Widget widget)
+	{
+		for (Widget parent = widget.getParent(); parent != null; parent = parent.getParent())
+		{
+			if (seen.contains(parent))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget;
+
+import com.compactorbs.widget.elements.Button;
+import com.compactorbs.widget.elements.Compass;
+import com.compactorbs.widget.elements.Minimap;
+import com.compactorbs.widget.elements.Orbs;
+import com.compactorbs.widget.layout.edit.EditManager;
+import com.compactorbs.widget.layout.offset.Offsets;
+
+//a dense id for every target (each element enum after the previous one), and the static facts about each target
+//in parallel arrays by that id, so per target lookups are an array index instead of a map or a scan
+//anything that changes at runtime (hide configs, handlers, widget handles) is kept by the owner in its own array by id
+public final class TargetRegistry
+{
+	private static final int MINIMAP_BASE = Orbs.values().length;
+	private static final int COMPASS_BASE = MINIMAP_BASE + Minimap.values().length;
+	private static final int BUTTON_BASE = COMPASS_BASE + Compass.values().length;
+
+	public static final int COUNT = BUTTON_BASE + Button.values().length;
+
+	//display modes, in the same order as the EditManager.EDIT_TARGETS columns
+	public static final int MODERN = 0;
+	public static final int CLASSIC = 1;
+	public static final int FIXED = 2;
+
+	private static final TargetWidget[] TARGETS = new TargetWidget[COUNT];
+	private static final Offsets[] OFFSETS = new Offsets[COUNT];
+	private static final boolean[] SWAPPABLE = new boolean[COUNT];
+
+	//bit per display mode the target has an edit-mode handler in
+	private static final int[] EDITABLE = new int[COUNT];
+
+	//open addressing table from the packed component/array id to the id (power of 2, kept under half full)
+	private static final int TABLE_BITS = 7;
+	private static final int TABLE_SIZE = 1 << TABLE_BITS;
+
+	private static final long[] KEYS = new long[TABLE_SIZE];
+	private static final int[] IDS = new int[TABLE_SIZE];
+
+	static
+	{
+		register(Orbs.values());
+		register(Minimap.values());
+		register(Compass.values());
+		register(Button.values());
+
+		for (Offsets offsets : Offsets.values())
+		{
+			for (TargetWidget target : offsets.getTargets())
+			{
+				OFFSETS[id(target)] = offsets;
+			}
+		}
+
+		for (TargetWidget orb : Orbs.SWAPPABLE_ORBS)
+		{
+			SWAPPABLE[id(orb)] = true;
+		}
+
+		for (TargetWidget[] targets : EditManager.EDIT_TARGETS)
+		{
+			for (int mode = MODERN; mode <= FIXED; mode++)
+			{
+				//missing columns fall back to the modern target
+				TargetWidget target = mode < targets.length && targets[mode] != null ? targets[mode] : targets[0];
+				EDITABLE[id(target)] |= 1 << mode;
+			}
+		}
+	}
+
+	private TargetRegistry()
+	{
+	}
+
+	public static int id(TargetWidget target)
+	{
+		if (target instanceof Orbs)
+		{
+			return ((Orbs) target).ordinal();
+		}
+		else if (target instanceof Minimap)
+		{
+			return MINIMAP_BASE + ((Minimap) target).ordinal();
+		}
+		else if (target instanceof Compass)
+		{
+			return COMPASS_BASE + ((Compass) target).ordinal();
+		}
+
+		return BUTTON_BASE + ((Button) target).ordinal();
+	}
+
+	public static TargetWidget get(int id)
+	{
+		return TARGETS[id];
+	}
+
+	//@return the id of the target for the widget, or -1 if it isn't one
+	public static int find(int componentId, int arrayId)
+	{
+		long key = pack(componentId, arrayId);
+		for (int slot = slot(key); IDS[slot] != 0; slot = (slot + 1) & (TABLE_SIZE - 1))
+		{
+			if (KEYS[slot] == key)
+			{
+				return IDS[slot] - 1;
+			}
+		}
+		return -1;
+	}
+
+	//@id - may be -1
+	public static Offsets getOffsets(int id)
+	{
+		return id == -1 ? null : OFFSETS[id];
+	}
+
+	public static boolean isSwappable(int id)
+	{
+		return id != -1 && SWAPPABLE[id];
+	}
+
+	//if the target gets an edit-mode handler in the display mode, before anything that blocks editing it
+	public static boolean isEditable(int id, int displayMode)
+	{
+		return id != -1 && (EDITABLE[id] & (1 << displayMode)) != 0;
+	}
+
+	public static int displayMode(boolean fixed, boolean classic)
+	{
+		return fixed ? FIXED : classic ? CLASSIC : MODERN;
+	}
+
+	private static void register(TargetWidget[] targets)
+	{
+		for (TargetWidget target : targets)
+		{
+			int id = id(target);
+			TARGETS[id] = target;
+
+			//ids are stored + 1, so an empty slot is 0
+			//a component/array id shared by two targets resolves to the first one
+			long key = pack(target.getComponentId(), target.getArrayId());
+			int slot = slot(key);
+			while (IDS[slot] != 0 && KEYS[slot] != key)
+			{
+				slot = (slot + 1) & (TABLE_SIZE - 1);
+			}
+
+			if (IDS[slot] == 0)
+			{
+				KEYS[slot] = key;
+				IDS[slot] = id + 1;
+			}
+		}
+	}
+
+	private static long pack(int componentId, int arrayId)
+	{
+		return ((long) componentId << 32) | (arrayId & 0xFFFFFFFFL);
+	}
+
+	private static int slot(long key)
+	{
+		//fibonacci hashing, the top bits are the best mixed
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - TABLE_BITS));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget;
+
+import com.compactorbs.CompactOrbsLayout;
+import com.compactorbs.util.SetValue;
+import com.compactorbs.util.ValueKey;
+import com.compactorbs.widget.elements.Button;
+import com.compactorbs.widget.elements.Compass;
+import com.compactorbs.widget.elements.Minimap;
+import com.compactorbs.widget.elements.Orbs;
+import java.util.Map;
+
+//every targets value map compiled into one primitive table at class init, laid out as [target][value key][column]
+//column 0 is the original (vanilla) value, column 1 + layout ordinal is the value used by that compact layout
+//the value maps on the element enums stay the source of truth, this is only the shape the remap reads them in
+public final class ValueTable
+{
+	private static final int KEYS = ValueKey.values().length;
+	private static final CompactOrbsLayout[] LAYOUTS = CompactOrbsLayout.values();
+	private static final int COLUMNS = 1 + LAYOUTS.length;
+
+	private static final int[] VALUES = new int[TargetRegistry.COUNT * KEYS * COLUMNS];
+
+	//bit per ValueKey ordinal, set for the keys each target defines
+	private static final int[] MASKS = new int[TargetRegistry.COUNT];
+
+	static
+	{
+		compile(Orbs.values());
+		compile(Minimap.values());
+		compile(Compass.values());
+		compile(Button.values());
+	}
+
+	private ValueTable()
+	{
+	}
+
+	public static int mask(int ordinal)
+	{
+		return MASKS[ordinal];
+	}
+
+	//@layout - null for the original value
+	public static int get(int ordinal, ValueKey key, CompactOrbsLayout layout)
+	{
+		int column = layout == null ? 0 : 1 + layout.ordinal();
+		return VALUES[(ordinal * KEYS + key.ordinal()) * COLUMNS + column];
+	}
+
+	private static void compile(TargetWidget[] targets)
+	{
+		for (TargetWidget target : targets)
+		{
+			int ordinal = TargetRegistry.id(target);
+			for (Map.Entry<ValueKey, SetValue> entry : target.getValueMap().entrySet())
+			{
+				SetValue value = entry.getValue();
+				int base = (ordinal * KEYS + entry.getKey().ordinal()) * COLUMNS;
+
+				VALUES[base] = value.getOriginal();
+				for (CompactOrbsLayout layout : LAYOUTS)
+				{
+					VALUES[base + 1 + layout.ordinal()] = value.getModified(layout);
+				}
+
+				MASKS[ordinal] |= 1 << entry.getKey().ordinal();
+			}
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget;
+
+import com.compactorbs.CompactOrbsManager;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.widgets.Widget;
+
+//static widget handles, so a remap doesn't look up the same component ids over and over
+//handles are dropped when their interface is loaded/closed, on game state changes, whenever the display mode
+//differs from the one they were resolved in (the parents are per display mode), and when a hit's parent isn't the
+//widget it had when resolved (the parent was recreated, or the handle moved under another one)
+//array children are never cached, they're resolved through the cached parent since scripts can recreate them
+@Slf4j
+@Singleton
+public class WidgetCache
+{
+	@Inject
+	private Client client;
+
+	@Inject
+	private CompactOrbsManager manager;
+
+	//by TargetRegistry id, with the parent each was resolved under
+	private final Widget[] targets = new Widget[TargetRegistry.COUNT];
+	private final Widget[] targetParents = new Widget[TargetRegistry.COUNT];
+
+	//any other component id (parents, backings, buttons, icons), open addressing on the id
+	//keys stay once added, a dropped handle only clears its value
+	private int[] keys = new int[64];
+	private Widget[] values = new Widget[64];
+	private Widget[] parents = new Widget[64];
+	private int size;
+
+	private int displayMode = -1;
+
+	@Getter
+	private long hits;
+
+	@Getter
+	private long misses;
+
+	//hits dropped since their parent changed, counted as misses too
+	@Getter
+	private long staleParents;
+
+	public Widget get(TargetWidget target)
+	{
+		validateDisplayMode();
+
+		final int id = TargetRegistry.id(target);
+		Widget widget = targets[id];
+		if (widget != null)
+		{
+			if (widget.getParent() == targetParents[id])
+			{
+				hits++;
+				return widget;
+			}
+			staleParents++;
+		}
+
+		misses++;
+		widget = client.getWidget(target.getComponentId());
+		targets[id] = widget;
+		targetParents[id] = widget != null ? widget.getParent() : null;
+		return widget;
+	}
+
+	public Widget get(int componentId)
+	{
+		validateDisplayMode();
+
+		int slot = slot(componentId);
+		Widget widget = values[slot];
+		if (widget != null)
+		{
+			if (widget.getParent() == parents[slot])
+			{
+				hits++;
+				return widget;
+			}
+			staleParents++;
+			values[slot] = null;
+		}
+
+		misses++;
+		widget = client.getWidget(componentId);
+		if (widget == null)
+		{
+			return null;
+		}
+
+		if (keys[slot] == 0)
+		{
+			if ((size + 1) * 2 > keys.length)
+			{
+				grow();
+				slot = slot(componentId);
+			}
+
+			keys[slot] = componentId + 1;
+			size++;
+		}
+
+		values[slot] = widget;
+		parents[slot] = widget.getParent();
+		return widget;
+	}
+
+	//WidgetLoaded/WidgetClosed, the interfaces widgets may have been recreated
+	public void invalidate(int groupId)
+	{
+		for (int i = 0; i < targets.length; i++)
+		{
+			if (targets[i] != null && targets[i].getId() >>> 16 == groupId)
+			{
+				targets[i] = null;
+				targetParents[i] = null;
+			}
+		}
+
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (values[i] != null && (keys[i] - 1) >>> 16 == groupId)
+			{
+				values[i] = null;
+				parents[i] = null;
+			}
+		}
+	}
+
+	public void invalidateAll()
+	{
+		if (hits + misses > 0)
+		{
+			log.debug("Widget cache: {} hits, {} misses ({}% hit ratio)", hits, misses, getHitRatio());
+		}
+
+		clear();
+	}
+
+	//percent of lookups served from the cache
+	public long getHitRatio()
+	{
+		final long lookups = hits + misses;
+		return lookups == 0 ? 0 : hits * 100 / lookups;
+	}
+
+	public void resetStats()
+	{
+		hits = 0;
+		misses = 0;
+		staleParents = 0;
+	}
+
+	private void clear()
+	{
+		Arrays.fill(targets, null);
+		Arrays.fill(targetParents, null);
+		Arrays.fill(values, null);
+		Arrays.fill(parents, null);
+	}
+
+	//the toplevel interface changes with the display mode, drop everything resolved under the previous one
+	private void validateDisplayMode()
+	{
+		final int mode = TargetRegistry.displayMode(manager.isFixedMode(), manager.isClassicResizable());
+		if (mode != displayMode)
+		{
+			displayMode = mode;
+			clear();
+		}
+	}
+
+	//component ids are stored +1, so 0 marks an empty slot
+	private int slot(int componentId)
+	{
+		final int mask = keys.length - 1;
+		final int key = componentId + 1;
+
+		int slot = (key * 0x9E3779B9) >>> 16 & mask;
+		while (keys[slot] != 0 && keys[slot] != key)
+		{
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	private void grow()
+	{
+		final int[] oldKeys = keys;
+		final Widget[] oldValues = values;
+		final Widget[] oldParents = parents;
+
+		keys = new int[oldKeys.length * 2];
+		values = new Widget[oldValues.length * 2];
+		parents = new Widget[oldParents.length * 2];
+
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != 0)
+			{
+				int slot = slot(oldKeys[i] - 1);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+				parents[slot] = oldParents[i];
+			}
+		}
+	}
+}
@@ -39,14 +39,17 @@ import com.compactorbs.CompactOrbsConstants.Widgets.Fixed;
 import com.compactorbs.CompactOrbsConstants.Widgets.Modern;
 import com.compactorbs.CompactOrbsLayout;
 import com.compactorbs.CompactOrbsManager;
-import com.compactorbs.util.SetValue;
+import com.compactorbs.stats.Counter;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
 import com.compactorbs.util.ValueKey;
 import com.compactorbs.widget.elements.Orbs;
+import com.compactorbs.widget.layout.LayoutPlan;
 import com.compactorbs.widget.layout.offset.OffsetManager;
 import com.compactorbs.widget.layout.slot.Slot;
 import com.compactorbs.widget.layout.slot.SlotManager;
 import com.compactorbs.widget.layout.slot.SlotRegistry;
-import java.util.Map;
+import java.util.Collection;
 import java.util.function.IntConsumer;
 import java.util.function.IntSupplier;
 import javax.inject.Inject;
@@ -62,6 +65,8 @@ import net.runelite.api.widgets.WidgetType;
 @Singleton
 public class WidgetManager
 {
+	private static final ValueKey[] KEYS = ValueKey.values();
+
 	@Inject
 	private Client client;
 
@@ -77,6 +82,21 @@ public class WidgetManager
 	@Inject
 	private SlotRegistry slotRegistry;
 
+	@Inject
+	private LayoutPlan layoutPlan;
+
+	@Inject
+	private WidgetCache widgetCache;
+
+	@Inject
+	private RevalidationBatch revalidations;
+
+	@Inject
+	private PropertyWriter propertyWriter;
+
+	@Inject
+	private Stats stats;
+
 	public void remapTargets(TargetWidget... targets)
 	{
 		remapTargets(false, Script.FORCE_UPDATE, targets);
@@ -87,12 +107,31 @@ public class WidgetManager
 		remapTargets(false, scriptId, targets);
 	}
 
+	//targets marked dirty by the RemapScheduler
+	public void remapTargets(Collection<? extends TargetWidget> targets)
+	{
+		final long start = stats.start();
+
+		slotManager.updateCurrentLayoutMode();
+		layoutPlan.validate();
+
+		for (TargetWidget target : targets)
+		{
+			remapTarget(false, target);
+		}
+
+		stats.stop(Timer.REMAP_TARGETS, start);
+	}
+
 	//should only be called on shutdown with toDefault being true
 	public void remapTargets(boolean toDefault, int scriptId, TargetWidget... targets)
 	{
+		final long start = stats.start();
+
 		if (!toDefault)
 		{
 			slotManager.updateCurrentLayoutMode();
+			layoutPlan.validate();
 		}
 
 		for (TargetWidget target : targets)
@@ -104,6 +143,8 @@ public class WidgetManager
 
 			remapTarget(toDefault, target);
 		}
+
+		stats.stop(Timer.REMAP_TARGETS, start);
 	}
 
 	private void remapTarget(boolean toDefault, TargetWidget target)
@@ -119,18 +160,52 @@ public class WidgetManager
 			return;
 		}
 
+		//swapped orbs take their values from the orb whose slot they're in
+		final int source = TargetRegistry.id(getTarget(target));
+		final int mask = ValueTable.mask(source);
+
+		//restoring to default is only done on shutdown, so skip the plan entirely
+		boolean planned = !toDefault && compilePlan(widget, target, source, mask);
+
 		boolean remapped = false;
-		for (Map.Entry<ValueKey, SetValue> entry : getTarget(target).getValueMap().entrySet())
+		for (int bits = mask; bits != 0; bits &= bits - 1)
 		{
-			remapped |= setValue(widget, target.getArrayId(), entry.getKey(), entry.getValue(), toDefault);
+			ValueKey key = KEYS[Integer.numberOfTrailingZeros(bits)];
+			int value = planned
+				? layoutPlan.get(target, key)
+				: resolveValue(widget, target.getArrayId(), key, source, toDefault);
+
+			//restored values aren't kept in the shadow, the plugin is shutting down
+			remapped |= toDefault
+				? propertyWriter.write(widget, key, value)
+				: propertyWriter.write(target, widget, key, value);
 		}
 
 		if (remapped)
 		{
-			widget.revalidate();
+			revalidations.revalidate(widget);
 		}
 	}
 
+	//evaluate the targets values into the layout plan, if they have not been since the last change
+	private boolean compilePlan(Widget widget, TargetWidget target, int source, int mask)
+	{
+		if (layoutPlan.isCompiled(target))
+		{
+			return true;
+		}
+
+		int generation = layoutPlan.getGeneration();
+		for (int bits = mask; bits != 0; bits &= bits - 1)
+		{
+			ValueKey key = KEYS[Integer.numberOfTrailingZeros(bits)];
+			layoutPlan.set(target, key, resolveValue(widget, target.getArrayId(), key, source, false));
+		}
+
+		layoutPlan.setCompiled(target, generation);
+		return layoutPlan.isCompiled(target);
+	}
+
 	private TargetWidget getTarget(TargetWidget target)
 	{
 		if (target instanceof Orbs)
@@ -143,7 +218,7 @@ public class WidgetManager
 
 	private TargetWidget getSlotTarget(TargetWidget target)
 	{
-		if (!Orbs.isSwappableOrb(target.getComponentId()) || !manager.enableOrbSwapping)
+		if (!TargetRegistry.isSwappable(TargetRegistry.id(target)) || !manager.enableOrbSwapping)
 		{
 			return target;
 		}
@@ -167,7 +242,7 @@ public class WidgetManager
 		return manager.getSavedPosition(widget, index, key);
 	}
 
-	private int getValue(Widget widget, int index, ValueKey key, SetValue value, boolean toDefault)
+	private int getValue(Widget widget, int index, ValueKey key, int source, boolean toDefault)
 	{
 		boolean useSavedPosition =
 			!toDefault
@@ -179,9 +254,7 @@ public class WidgetManager
 				? manager.getCurrentLayout()
 				: null;
 
-		int v = useSavedPosition
-			? value.getModified(layout)
-			: value.getOriginal();
+		int v = ValueTable.get(source, key, useSavedPosition ? layout : null);
 
 		int saved = getSavedValue(widget, index, key, useSavedPosition);
 		if (saved != -1)
@@ -241,31 +314,10 @@ public class WidgetManager
 		return value;
 	}
 
-	private boolean setValue(Widget widget, int index, ValueKey key, SetValue value, boolean toDefault)
+	private int resolveValue(Widget widget, int index, ValueKey key, int source, boolean toDefault)
 	{
-		int v = getValue(widget, index, key, value, toDefault);
-		v = adjustValue(widget, index, key, v, toDefault);
-
-		switch (key)
-		{
-			case X:
-				return updateValue(widget::getOriginalX, widget::setOriginalX, v);
-			case Y:
-				return updateValue(widget::getOriginalY, widget::setOriginalY, v);
-			case WIDTH:
-				return updateValue(widget::getOriginalWidth, widget::setOriginalWidth, v);
-			case HEIGHT:
-				return updateValue(widget::getOriginalHeight, widget::setOriginalHeight, v);
-			case X_POSITION_MODE:
-				return updateValue(widget::getXPositionMode, widget::setXPositionMode, v);
-			case Y_POSITION_MODE:
-				return updateValue(widget::getYPositionMode, widget::setYPositionMode, v);
-			case WIDTH_MODE:
-				return updateValue(widget::getWidthMode, widget::setWidthMode, v);
-			case HEIGHT_MODE:
-				return updateValue(widget::getHeightMode, widget::setHeightMode, v);
-		}
-		throw new IllegalStateException("Unhandled ValueKey (" + key + ") for widget: " + widget.getId());
+		int v = getValue(widget, index, key, source, toDefault);
+		return adjustValue(widget, index, key, v, toDefault);
 	}
 
 	public boolean updateValue(IntSupplier getter, IntConsumer setter, int value)
@@ -273,6 +325,7 @@ public class WidgetManager
 		if (getter.getAsInt() != value)
 		{
 			setter.accept(value);
+			stats.count(Counter.WIDGET_WRITES);
 			return true;
 		}
 
@@ -316,7 +369,7 @@ public class WidgetManager
 
 	public void setHidden(int componentId, boolean hidden)
 	{
-		Widget widget = client.getWidget(componentId);
+		Widget widget = widgetCache.get(componentId);
 		if (widget == null)
 		{
 			return;
@@ -330,16 +383,18 @@ public class WidgetManager
 		if (hidden && !widget.isSelfHidden())
 		{
 			widget.setHidden(true);
+			stats.count(Counter.WIDGET_WRITES);
 		}
 		else if (!hidden && widget.isSelfHidden())
 		{
 			widget.setHidden(false);
+			stats.count(Counter.WIDGET_WRITES);
 		}
 	}
 
 	public void setOpacity(int componentId, int opacity)
 	{
-		Widget widget = client.getWidget(componentId);
+		Widget widget = widgetCache.get(componentId);
 		if (widget == null)
 		{
 			return;
@@ -384,7 +439,7 @@ public class WidgetManager
 
 	public void setNoClickThrough(int componentId, boolean noClickThrough)
 	{
-		Widget widget = client.getWidget(componentId);
+		Widget widget = widgetCache.get(componentId);
 		if (widget == null)
 		{
 			return;
@@ -393,6 +448,7 @@ public class WidgetManager
 		if (widget.getNoClickThrough() != noClickThrough)
 		{
 			widget.setNoClickThrough(noClickThrough);
+			stats.count(Counter.WIDGET_WRITES);
 		}
 	}
 
@@ -400,7 +456,7 @@ public class WidgetManager
 	{
 		for (TargetWidget target : widgets)
 		{
-			Widget widget = client.getWidget(target.getComponentId());
+			Widget widget = widgetCache.get(target);
 			if (widget == null)
 			{
 				continue;
@@ -412,7 +468,7 @@ public class WidgetManager
 	//get the widget for the given TargetWidget
 	public Widget getTargetWidget(TargetWidget target)
 	{
-		Widget widget = client.getWidget(target.getComponentId());
+		Widget widget = widgetCache.get(target);
 		if (widget == null)
 		{
 			return null;
@@ -443,17 +499,17 @@ public class WidgetManager
 	{
 		if (manager.isFixedMode())
 		{
-			return client.getWidget(fixed);
+			return widgetCache.get(fixed);
 		}
 		else
 		{
 			if (manager.isClassicResizable())
 			{
-				return client.getWidget(classic);
+				return widgetCache.get(classic);
 			}
 			else
 			{
-				return client.getWidget(modern);
+				return widgetCache.get(modern);
 			}
 		}
 	}
@@ -497,6 +553,36 @@ public class WidgetManager
 		return child;
 	}
 
+	//reuse a pooled handler for the next edit session, dropping the previous binding's drag/menu setup and highlight
+	public void resetHandler(Widget child, int x, int y, int width, int height, int xMode, int yMode)
+	{
+		child.setOriginalX(x);
+		child.setOriginalY(y);
+		child.setOriginalWidth(width);
+		child.setOriginalHeight(height);
+		child.setXPositionMode(xMode);
+		child.setYPositionMode(yMode);
+		child.setClickMask(0);
+		child.clearActions();
+		//a session can end while the handler is the drag indicator
+		child.setOpacity(255);
+		child.setTextColor(0);
+		child.setHidden(false);
+		child.revalidate();
+	}
+
+	//whether @child is still one of @parent's children (not deleted, or replaced by the client)
+	public boolean isChildOf(Widget parent, Widget child)
+	{
+		if (parent == null || child == null)
+		{
+			return false;
+		}
+
+		Widget[] children = parent.getChildren();
+		return children != null && child.getIndex() < children.length && children[child.getIndex()] == child;
+	}
+
 	public Widget createIndicator(Widget parent)
 	{
 		Widget child = parent.createChild(-1, WidgetType.RECTANGLE);
@@ -525,9 +611,9 @@ public class WidgetManager
 		widget.revalidate();
 	}
 
-	public void removeMinimapRendering()
+	//an empty layer in place of the minimap, the client draws nothing for it (children are still drawn)
+	public void removeMinimapRendering(Widget widget)
 	{
-		Widget widget = getMinimapMask();
 		if (widget == null)
 		{
 			return;
@@ -538,9 +624,8 @@ public class WidgetManager
 		widget.setSpriteId(-1);
 	}
 
-	public void restoreMinimapRendering()
+	public void restoreMinimapRendering(Widget widget, int maskSpriteId)
 	{
-		Widget widget = getMinimapMask();
 		if (widget == null)
 		{
 			return;
@@ -548,7 +633,7 @@ public class WidgetManager
 
 		widget.setType(WidgetType.GRAPHIC);
 		widget.setContentType(MinimapOverlay.MINIMAP_CONTENT);
-		widget.setSpriteId(manager.isFixedMode() ? Sprite.FIXED_MINIMAP_MASK : Sprite.MINIMAP_MASK);
+		widget.setSpriteId(maskSpriteId);
 	}
 
 	public Widget createMinimapButton(Widget parent)
@@ -729,7 +814,7 @@ public class WidgetManager
 			return;
 		}
 
-		Widget widget = client.getWidget(componentId);
+		Widget widget = widgetCache.get(componentId);
 		if (widget == null)
 		{
 			return;
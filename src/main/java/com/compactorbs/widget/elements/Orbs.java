@@ -39,7 +39,9 @@ import static com.compactorbs.util.ValueKey.X;
 import static com.compactorbs.util.ValueKey.X_POSITION_MODE;
 import static com.compactorbs.util.ValueKey.Y;
 import static com.compactorbs.util.ValueKey.Y_POSITION_MODE;
+import com.compactorbs.widget.TargetRegistry;
 import com.compactorbs.widget.TargetWidget;
+import java.util.Arrays;
 import java.util.Map;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -452,16 +454,41 @@ public enum Orbs implements TargetWidget
 		SPEC_ORB_CONTAINER
 	};
 
-	public static boolean isSwappableOrb(int componentId)
+	//orbs by the script that updates them, script ids sorted for a binary search
+	private static final int[] SCRIPT_IDS;
+	private static final Orbs[][] BY_SCRIPT;
+	private static final Orbs[] NONE = new Orbs[0];
+
+	static
 	{
-		for (TargetWidget orb : SWAPPABLE_ORBS)
+		SCRIPT_IDS = Arrays.stream(values())
+			.mapToInt(orb -> orb.scriptId)
+			.filter(scriptId -> scriptId != Script.FORCE_UPDATE)
+			.distinct()
+			.sorted()
+			.toArray();
+
+		BY_SCRIPT = new Orbs[SCRIPT_IDS.length][];
+
+		for (int i = 0; i < SCRIPT_IDS.length; i++)
 		{
-			if (orb.getComponentId() == componentId)
-			{
-				return true;
-			}
+			final int scriptId = SCRIPT_IDS[i];
+			BY_SCRIPT[i] = Arrays.stream(values())
+				.filter(orb -> orb.scriptId == scriptId)
+				.toArray(Orbs[]::new);
 		}
-		return false;
+	}
+
+	//the orbs updated by the given script, the array is shared and must not be modified
+	public static Orbs[] byScriptId(int scriptId)
+	{
+		int index = Arrays.binarySearch(SCRIPT_IDS, scriptId);
+		return index < 0 ? NONE : BY_SCRIPT[index];
+	}
+
+	public static boolean isSwappableOrb(int componentId)
+	{
+		return TargetRegistry.isSwappable(TargetRegistry.find(componentId, -1));
 	}
 
 	@Override
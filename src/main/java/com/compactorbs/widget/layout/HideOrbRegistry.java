@@ -26,17 +26,18 @@
 
 package com.compactorbs.widget.layout;
 
-import com.compactorbs.CompactOrbsConfig;
 import com.compactorbs.CompactOrbsConstants.ConfigKeys;
 import com.compactorbs.CompactOrbsConstants.Script;
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.widget.TargetRegistry;
 import com.compactorbs.widget.TargetWidget;
 import com.compactorbs.widget.elements.Button;
 import com.compactorbs.widget.elements.Minimap;
 import com.compactorbs.widget.elements.Orbs;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.RequiredArgsConstructor;
@@ -46,7 +47,7 @@ import lombok.RequiredArgsConstructor;
 public final class HideOrbRegistry
 {
 	@Inject
-	private CompactOrbsConfig config;
+	private CompactOrbsManager manager;
 
 	public enum UpdateType
 	{
@@ -56,14 +57,19 @@ public final class HideOrbRegistry
 	}
 
 	private final Map<String, HideOrbConfig> byConfig = new HashMap<>();
-	private final Map<Integer, HideOrbConfig> byScript = new HashMap<>();
-	private final Map<TargetWidget, HideOrbConfig> byTarget = new HashMap<>();
+
+	//by TargetRegistry id
+	private final HideOrbConfig[] byTarget = new HideOrbConfig[TargetRegistry.COUNT];
+
+	//script ids kept sorted, with the config at the same index
+	private int[] scriptIds = new int[0];
+	private HideOrbConfig[] byScript = new HideOrbConfig[0];
 
 	public void registerAll()
 	{
 		register(
 			ConfigKeys.HIDE_HP,
-			config::hideHp,
+			LayoutState.HIDE_HP,
 			UpdateType.BOTH,
 			"HP orb",
 			Orbs.HP_ORB_CONTAINER
@@ -71,7 +77,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_PRAYER,
-			config::hidePray,
+			LayoutState.HIDE_PRAYER,
 			UpdateType.BOTH,
 			"Prayer orb",
 			Orbs.PRAYER_ORB_CONTAINER
@@ -79,7 +85,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_RUN,
-			config::hideRun,
+			LayoutState.HIDE_RUN,
 			UpdateType.BOTH,
 			"Run orb",
 			Orbs.RUN_ORB_CONTAINER
@@ -87,7 +93,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_SPEC,
-			config::hideSpec,
+			LayoutState.HIDE_SPEC,
 			UpdateType.BOTH,
 			"Special orb",
 			Orbs.SPEC_ORB_CONTAINER
@@ -95,7 +101,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_STORE,
-			config::hideStore,
+			LayoutState.HIDE_STORE,
 			UpdateType.BOTH,
 			"Store",
 			Orbs.STORE_ORB_CONTAINER
@@ -103,7 +109,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_ACTIVITY,
-			config::hideActivity,
+			LayoutState.HIDE_ACTIVITY,
 			UpdateType.BOTH,
 			"Activity advisor",
 			Orbs.ACTIVITY_ORB_CONTAINER
@@ -111,7 +117,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_WORLD,
-			config::hideWorld,
+			LayoutState.HIDE_WORLD,
 			UpdateType.CONFIG,
 			"World map",
 			Orbs.WORLD_MAP_CONTAINER
@@ -119,7 +125,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_WIKI,
-			config::hideWiki,
+			LayoutState.HIDE_WIKI,
 			UpdateType.CONFIG,
 			"Wiki banner",
 			Orbs.WIKI_VANILLA_ICON,
@@ -129,7 +135,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_XP,
-			config::hideXp,
+			LayoutState.HIDE_XP,
 			UpdateType.BOTH,
 			"XP",
 			Orbs.XP_DROPS_CONTAINER
@@ -137,7 +143,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.HIDE_LOGOUT_X,
-			config::hideLogout,
+			LayoutState.HIDE_LOGOUT,
 			UpdateType.BOTH,
 			"Logout",
 			Orbs.LOGOUT_X_ICON,
@@ -146,7 +152,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.MINIMAP_TOGGLE_BUTTON,
-			config::hideMinimapToggle,
+			LayoutState.HIDE_MINIMAP_TOGGLE,
 			UpdateType.CONFIG,
 			"Button",
 			Button.MINIMAP_BUTTON_CLASSIC,
@@ -156,7 +162,7 @@ public final class HideOrbRegistry
 
 		register(
 			ConfigKeys.COMPASS,
-			config::hideCompass,
+			LayoutState.HIDE_COMPASS,
 			UpdateType.CONFIG,
 			"Compass",
 			Minimap.MODERN_MAP_MINIMAP,
@@ -164,16 +170,17 @@ public final class HideOrbRegistry
 		);
 	}
 
+	//@flag - the LayoutState flag for the config, read from the current state rather than the config proxy
 	private void register(
 		String key,
-		Supplier<Boolean> isHidden,
+		long flag,
 		UpdateType type,
 		String name,
 		TargetWidget... targets)
 	{
 		HideOrbConfig hideOrbConfig = new HideOrbConfig(
 			key,
-			isHidden,
+			() -> manager.getLayoutState().has(flag),
 			name,
 			targets
 		);
@@ -184,7 +191,7 @@ public final class HideOrbRegistry
 
 		for (TargetWidget target : targets)
 		{
-			byTarget.put(target, hideOrbConfig);
+			byTarget[TargetRegistry.id(target)] = hideOrbConfig;
 
 			if ((type == UpdateType.SCRIPT || type == UpdateType.BOTH)
 				&& scriptId == Script.FORCE_UPDATE
@@ -196,7 +203,7 @@ public final class HideOrbRegistry
 
 		if (scriptId != Script.FORCE_UPDATE)
 		{
-			byScript.put(scriptId, hideOrbConfig);
+			putScript(scriptId, hideOrbConfig);
 		}
 	}
 
@@ -212,12 +219,38 @@ public final class HideOrbRegistry
 
 	public HideOrbConfig getByScript(int scriptId)
 	{
-		return byScript.get(scriptId);
+		int index = Arrays.binarySearch(scriptIds, scriptId);
+		return index < 0 ? null : byScript[index];
+	}
+
+	private void putScript(int scriptId, HideOrbConfig hideOrbConfig)
+	{
+		int index = Arrays.binarySearch(scriptIds, scriptId);
+		if (index >= 0)
+		{
+			byScript[index] = hideOrbConfig;
+			return;
+		}
+
+		index = -index - 1;
+
+		int[] ids = new int[scriptIds.length + 1];
+		HideOrbConfig[] configs = new HideOrbConfig[byScript.length + 1];
+
+		System.arraycopy(scriptIds, 0, ids, 0, index);
+		System.arraycopy(byScript, 0, configs, 0, index);
+		ids[index] = scriptId;
+		configs[index] = hideOrbConfig;
+		System.arraycopy(scriptIds, index, ids, index + 1, scriptIds.length - index);
+		System.arraycopy(byScript, index, configs, index + 1, byScript.length - index);
+
+		scriptIds = ids;
+		byScript = configs;
 	}
 
 	public HideOrbConfig getByTarget(TargetWidget target)
 	{
-		return byTarget.get(target);
+		return target == null ? null : byTarget[TargetRegistry.id(target)];
 	}
 
 	public Collection<HideOrbConfig> values()
@@ -233,7 +266,8 @@ public final class HideOrbRegistry
 	public void clear()
 	{
 		byConfig.clear();
-		byScript.clear();
-		byTarget.clear();
+		scriptIds = new int[0];
+		byScript = new HideOrbConfig[0];
+		Arrays.fill(byTarget, null);
 	}
 }
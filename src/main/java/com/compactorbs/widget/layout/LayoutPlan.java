@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.layout;
+
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.util.ValueKey;
+import com.compactorbs.widget.TargetRegistry;
+import com.compactorbs.widget.TargetWidget;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+//compiled X/Y/W/H/mode values for every target, so remapping only has to apply them
+//values are compiled lazily per target, and thrown away when any of the layout inputs change
+//(display mode, layout, anchors, hidden orbs, swapped orbs, saved positions)
+@Singleton
+public class LayoutPlan
+{
+	private static final int TARGETS = TargetRegistry.COUNT;
+	private static final int KEYS = ValueKey.values().length;
+
+	//state flags that are cheap to read, but change the plan without a config/varbit event
+	private static final int FIXED = 1;
+	private static final int CLASSIC = 1 << 1;
+	private static final int COMPACT = 1 << 2;
+	private static final int MINIMIZED = 1 << 3;
+	private static final int EDITING = 1 << 4;
+	private static final int SWAPPING = 1 << 5;
+	private static final int HIDE_WORLD_MAP = 1 << 6;
+	private static final int HIDE_LOGOUT_X = 1 << 7;
+
+	@Inject
+	private CompactOrbsManager manager;
+
+	private final int[] values = new int[TARGETS * KEYS];
+
+	//the generation each target was compiled in, invalidating is just moving on to the next generation
+	//(config changes can come in from outside the client thread)
+	private final int[] compiledAt = new int[TARGETS];
+	private volatile int generation = 1;
+	private int stateKey = -1;
+
+	//drop the plan if the display mode or edit-mode state has changed since it was compiled
+	public void validate()
+	{
+		int key = stateKey();
+		if (key != stateKey)
+		{
+			invalidate();
+			stateKey = key;
+		}
+	}
+
+	public void invalidate()
+	{
+		generation++;
+	}
+
+	public int getGeneration()
+	{
+		return generation;
+	}
+
+	public boolean isCompiled(TargetWidget target)
+	{
+		return compiledAt[TargetRegistry.id(target)] == generation;
+	}
+
+	//@generation - read before the values were evaluated, so an invalidation part way through isn't lost
+	public void setCompiled(TargetWidget target, int generation)
+	{
+		compiledAt[TargetRegistry.id(target)] = generation;
+	}
+
+	public int get(TargetWidget target, ValueKey key)
+	{
+		return values[TargetRegistry.id(target) * KEYS + key.ordinal()];
+	}
+
+	public void set(TargetWidget target, ValueKey key, int value)
+	{
+		values[TargetRegistry.id(target) * KEYS + key.ordinal()] = value;
+	}
+
+	private int stateKey()
+	{
+		int key = 0;
+		key |= manager.isFixedMode() ? FIXED : 0;
+		key |= manager.isClassicResizable() ? CLASSIC : 0;
+		key |= manager.isCompactLayout() ? COMPACT : 0;
+		key |= manager.isMinimapMinimized() ? MINIMIZED : 0;
+		key |= manager.isEditingLayout ? EDITING : 0;
+		key |= manager.enableOrbSwapping ? SWAPPING : 0;
+		key |= manager.hideWorldMap ? HIDE_WORLD_MAP : 0;
+		key |= manager.hideLogoutX ? HIDE_LOGOUT_X : 0;
+		return key;
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.layout;
+
+import com.compactorbs.CompactOrbsConfig;
+import com.compactorbs.CompactOrbsConfig.TogglePlacement;
+import com.compactorbs.CompactOrbsConstants.Varbit;
+import com.compactorbs.CompactOrbsLayout;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+
+//immutable snapshot of the configs and varbits the layout is computed from, packed into one bitfield
+//rebuilt on ConfigChanged (config bits) and VarbitChanged/GameStateChanged (client bits), so the offsets
+//and managers don't go through the config proxy or the client for every value they resolve
+@RequiredArgsConstructor
+public final class LayoutState
+{
+	//config flags, the low 32 bits
+	public static final long HIDE_HP = 1L;
+	public static final long HIDE_PRAYER = 1L << 1;
+	public static final long HIDE_RUN = 1L << 2;
+	public static final long HIDE_SPEC = 1L << 3;
+	public static final long HIDE_STORE = 1L << 4;
+	public static final long HIDE_ACTIVITY = 1L << 5;
+	public static final long HIDE_WORLD = 1L << 6;
+	public static final long HIDE_WIKI = 1L << 7;
+	public static final long HIDE_XP = 1L << 8;
+	public static final long HIDE_LOGOUT = 1L << 9;
+	public static final long HIDE_MINIMAP_TOGGLE = 1L << 10;
+	public static final long HIDE_COMPASS = 1L << 11;
+	public static final long HIDE_MINIMAP = 1L << 12;
+	public static final long HIDE_MINIMAP_WITH_SIDE_PANEL = 1L << 13;
+	public static final long ANCHOR_RIGHT = 1L << 14;
+	public static final long ANCHOR_BOTTOM = 1L << 15;
+	public static final long DISABLE_REORDERING = 1L << 16;
+	public static final long LEAVE_EMPTY_SPACE = 1L << 17;
+	public static final long MINIMAP_OVERLAY = 1L << 18;
+	public static final long OVERLAY_LOGOUT_X = 1L << 19;
+	public static final long NO_CLICK_THROUGH = 1L << 20;
+	public static final long RIGHT_CLICK_TOGGLE_BUTTONS = 1L << 21;
+
+	//client flags (varbits), the high 32 bits - only set while logged in
+	public static final long CLASSIC_ARRANGEMENT = 1L << 32;
+	public static final long MINIMAP_MINIMIZED = 1L << 33;
+	public static final long STORE_ORB_DISABLED = 1L << 34;
+	public static final long ACTIVITY_ORB_DISABLED = 1L << 35;
+	public static final long WIKI_BANNER_DISABLED = 1L << 36;
+
+	private static final long CONFIG_MASK = 0xFFFFFFFFL;
+	private static final long CLIENT_MASK = ~CONFIG_MASK;
+
+	public static final LayoutState EMPTY = new LayoutState(0, CompactOrbsLayout.VERTICAL, 0, TogglePlacement.DEFAULT);
+
+	private final long flags;
+
+	@Getter
+	private final CompactOrbsLayout layout;
+
+	@Getter
+	private final int verticalYAdjustment;
+
+	@Getter
+	private final TogglePlacement togglePlacement;
+
+	public boolean has(long flag)
+	{
+		return (flags & flag) != 0;
+	}
+
+	public LayoutState withConfig(CompactOrbsConfig config)
+	{
+		long configFlags = 0;
+		configFlags |= config.hideHp() ? HIDE_HP : 0;
+		configFlags |= config.hidePray() ? HIDE_PRAYER : 0;
+		configFlags |= config.hideRun() ? HIDE_RUN : 0;
+		configFlags |= config.hideSpec() ? HIDE_SPEC : 0;
+		configFlags |= config.hideStore() ? HIDE_STORE : 0;
+		configFlags |= config.hideActivity() ? HIDE_ACTIVITY : 0;
+		configFlags |= config.hideWorld() ? HIDE_WORLD : 0;
+		configFlags |= config.hideWiki() ? HIDE_WIKI : 0;
+		configFlags |= config.hideXp() ? HIDE_XP : 0;
+		configFlags |= config.hideLogout() ? HIDE_LOGOUT : 0;
+		configFlags |= config.hideMinimapToggle() ? HIDE_MINIMAP_TOGGLE : 0;
+		configFlags |= config.hideCompass() ? HIDE_COMPASS : 0;
+		configFlags |= config.hideMinimap() ? HIDE_MINIMAP : 0;
+		configFlags |= config.hideMinimapWithSidePanel() ? HIDE_MINIMAP_WITH_SIDE_PANEL : 0;
+		configFlags |= config.horizontalAnchor().isRight() ? ANCHOR_RIGHT : 0;
+		configFlags |= config.verticalAnchor().isBottom() ? ANCHOR_BOTTOM : 0;
+		configFlags |= config.disableReordering() ? DISABLE_REORDERING : 0;
+		configFlags |= config.leaveEmptySpace() ? LEAVE_EMPTY_SPACE : 0;
+		configFlags |= config.showMinimapInCompactView() ? MINIMAP_OVERLAY : 0;
+		configFlags |= config.showOverlayLogoutX() ? OVERLAY_LOGOUT_X : 0;
+		configFlags |= config.enableNoClickthrough() ? NO_CLICK_THROUGH : 0;
+		configFlags |= config.rightClickToggleButtons() ? RIGHT_CLICK_TOGGLE_BUTTONS : 0;
+
+		return new LayoutState(
+			(flags & CLIENT_MASK) | configFlags,
+			config.layout(),
+			config.verticalYAdjustment(),
+			config.minimapTogglePlacement());
+	}
+
+	//client thread only
+	public LayoutState withClient(Client client)
+	{
+		long clientFlags = 0;
+
+		//varbits aren't reliable while 'loading interfaces %' on the login screen
+		if (client.getGameState() == GameState.LOGGED_IN)
+		{
+			clientFlags |= client.getVarbitValue(Varbit.RESIZABLE_STONE_ARRANGEMENT) == 0 ? CLASSIC_ARRANGEMENT : 0;
+			clientFlags |= client.getVarbitValue(Varbit.MINIMAP_TOGGLE) == 1 ? MINIMAP_MINIMIZED : 0;
+			clientFlags |= client.getVarbitValue(Varbit.STORE_ORB_TOGGLE) != 1 ? STORE_ORB_DISABLED : 0;
+			clientFlags |= client.getVarbitValue(Varbit.ACTIVITY_ORB_TOGGLE) != 0 ? ACTIVITY_ORB_DISABLED : 0;
+			clientFlags |= client.getVarbitValue(Varbit.WIKI_ICON_TOGGLE) != 0 ? WIKI_BANNER_DISABLED : 0;
+		}
+
+		return new LayoutState((flags & CONFIG_MASK) | clientFlags, layout, verticalYAdjustment, togglePlacement);
+	}
+
+	//varbits the client bits are read from
+	public static boolean isTracked(int varbitId)
+	{
+		switch (varbitId)
+		{
+			case Varbit.RESIZABLE_STONE_ARRANGEMENT:
+			case Varbit.MINIMAP_TOGGLE:
+			case Varbit.STORE_ORB_TOGGLE:
+			case Varbit.ACTIVITY_ORB_TOGGLE:
+			case Varbit.WIKI_ICON_TOGGLE:
+				return true;
+		}
+		return false;
+	}
+}
@@ -40,12 +40,16 @@ public class BindingManager
 	private final Map<Widget, Binding> handlerBindings = new IdentityHashMap<>();
 	private final Set<Binding> bindings = new LinkedHashSet<>();
 
+	//bumped whenever the bindings change, so derived indexes know to rebuild
+	private int version;
+
 	public void bind(Widget handler, TargetWidget modern, TargetWidget classic, TargetWidget fixed, TargetWidget related, boolean hidden)
 	{
 		Binding binding = new Binding(handler, modern, classic, fixed, related, hidden);
 
 		handlerBindings.put(handler, binding);
 		bindings.add(binding);
+		version++;
 	}
 
 	public Binding getByHandler(Widget handler)
@@ -58,9 +62,15 @@ public class BindingManager
 		return bindings;
 	}
 
+	public int getVersion()
+	{
+		return version;
+	}
+
 	public void clear()
 	{
 		handlerBindings.clear();
 		bindings.clear();
+		version++;
 	}
 }
@@ -28,6 +28,10 @@ package com.compactorbs.widget.layout.edit;
 import com.compactorbs.CompactOrbsConfig;
 import static com.compactorbs.CompactOrbsConstants.Layout.ORBS_CONTAINER_OFFSET_Y;
 import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
+import com.compactorbs.util.ConfigWriteQueue;
+import com.compactorbs.widget.PropertyWriter;
 import com.compactorbs.widget.TargetWidget;
 import com.compactorbs.widget.WidgetManager;
 import com.compactorbs.widget.elements.Minimap;
@@ -64,7 +68,26 @@ public class DragListener implements MouseListener
 	@Inject
 	private SlotManager slotManager;
 
+	@Inject
+	private ConfigWriteQueue configWrites;
+
+	@Inject
+	private HandlerIndex handlerIndex;
+
+	@Inject
+	private PropertyWriter propertyWriter;
+
+	@Inject
+	private Stats stats;
+
 	public void updateDrag()
+	{
+		final long start = stats.start();
+		drag();
+		stats.stop(Timer.UPDATE_DRAG, start);
+	}
+
+	private void drag()
 	{
 		Widget dragged = client.getDraggedWidget();
 		if (dragged != null)
@@ -80,15 +103,20 @@ public class DragListener implements MouseListener
 					Widget bound = widgetManager.getTargetWidget(binding.get(manager));
 					if (!dragState.wasDragging)
 					{
-						dragState.offset.x = dragState.origin.x - (container.getBounds().x + dragged.getRelativeX());
-						dragState.offset.y = dragState.origin.y - (container.getBounds().y + dragged.getRelativeY());
+						//start of a drag, re-read the container bounds on first use
+						dragState.boundsContainer = null;
+
+						Rectangle parentBounds = getContainerBounds(container);
+						final long origin = dragState.getOrigin();
+						dragState.offset.x = DragState.x(origin) - (parentBounds.x + dragged.getRelativeX());
+						dragState.offset.y = DragState.y(origin) - (parentBounds.y + dragged.getRelativeY());
 					}
 
 					if (manager.isCustomLayout() || !manager.enableOrbSwapping)
 					{
 						if (!manager.isCompactLayout() || manager.isFixedMode())
 						{
-							container = client.getWidget(Minimap.ORBS_UNIVERSE.getComponentId());
+							container = widgetManager.getTargetWidget(Minimap.ORBS_UNIVERSE);
 							if (container == null)
 							{
 								return;
@@ -97,12 +125,12 @@ public class DragListener implements MouseListener
 
 						if (bound != null)
 						{
-							Point pos = getDragPosition(dragged, container.getBounds());
+							Point pos = getDragPosition(dragged, getContainerBounds(container));
 
 							Point handlerPos = toBoundPosition(dragged, bound, pos);
 							setPosition(dragged, handlerPos);
 
-							draggedOn = getIndicatorTarget(dragged, draggedOn, container);
+							draggedOn = getIndicatorTarget(dragged, draggedOn, pos, container);
 							setIndicatorTo(draggedOn);
 							updateDraggedIndicator(bound, handlerPos);
 
@@ -116,13 +144,13 @@ public class DragListener implements MouseListener
 					}
 					else
 					{
-						container = client.getWidget(Minimap.ORBS_UNIVERSE.getComponentId());
+						container = widgetManager.getTargetWidget(Minimap.ORBS_UNIVERSE);
 						if (container != null)
 						{
 							setIndicatorTo(draggedOn);
 							if (bound != null)
 							{
-								Point pos = getDragPosition(dragged, container.getBounds());
+								Point pos = getDragPosition(dragged, getContainerBounds(container));
 								setPosition(bound, pos);
 
 								dragState.lastDraggedOn = draggedOn;
@@ -137,9 +165,18 @@ public class DragListener implements MouseListener
 		}
 	}
 
+	//component id of the target bound to the dragged handler, -1 if nothing we bound is being dragged
+	public int getDraggedTargetId()
+	{
+		Widget dragged = client.getDraggedWidget();
+		Binding binding = dragged != null ? bindingManager.getByHandler(dragged) : null;
+		return binding != null ? binding.get(manager).getComponentId() : -1;
+	}
+
 	public void finalizeDrag()
 	{
 		dragState.wasDragging = false;
+		dragState.boundsContainer = null;
 
 		if (dragState.lastDraggedHandler != null)
 		{
@@ -149,7 +186,7 @@ public class DragListener implements MouseListener
 				Widget container = widgetManager.getMapParent();
 				if (!manager.isCompactLayout() || manager.isFixedMode())
 				{
-					container = client.getWidget(Minimap.ORBS_UNIVERSE.getComponentId());
+					container = widgetManager.getTargetWidget(Minimap.ORBS_UNIVERSE);
 				}
 
 				if (container != null)
@@ -171,9 +208,16 @@ public class DragListener implements MouseListener
 					}
 				}
 
+				//handlers only settle once the drag ends
+				handlerIndex.moved(dragState.lastDraggedHandler);
+				handlerIndex.moved(dragState.lastDraggedOn);
+
 				resetDrag();
 			}
 		}
+
+		//one batch per drag, for the saved position or the swapped slots
+		configWrites.flush();
 	}
 
 	private void swapDraggedOrb()
@@ -201,13 +245,11 @@ public class DragListener implements MouseListener
 		final int y = dragState.lastDraggedHandler.getOriginalY();
 
 		setPosition(dragState.lastDraggedHandler,
-			new Point(
-				dragState.lastDraggedOn.getOriginalX(),
-				dragState.lastDraggedOn.getOriginalY()
-			)
+			dragState.lastDraggedOn.getOriginalX(),
+			dragState.lastDraggedOn.getOriginalY()
 		);
 
-		setPosition(dragState.lastDraggedOn, new Point(x, y));
+		setPosition(dragState.lastDraggedOn, x, y);
 
 		slotManager.swap(draggedOrb, targetOrb);
 	}
@@ -266,93 +308,68 @@ public class DragListener implements MouseListener
 		}
 	}
 
-	private Widget getIndicatorTarget(Widget dragged, Widget draggedOn, Widget container)
+	//@pos - the drag position within the container, as returned by getDragPosition
+	private Widget getIndicatorTarget(Widget dragged, Widget draggedOn, Point pos, Widget container)
 	{
 		if (draggedOn != null && draggedOn != dragged)
 		{
 			return draggedOn;
 		}
 
-		Point pos = getDragPosition(dragged, container.getBounds());
 		return findOverlappingHandler(dragged, pos, container.getWidth());
 	}
 
-	private Widget findOverlappingHandler(Widget dragged, Point pos, int containerWidth)
+	Widget findOverlappingHandler(Widget dragged, Point pos, int containerWidth)
 	{
 		int dragX = pos.x;
-		int dragY = pos.y;
 		int dragW = dragged.getWidth();
-		int dragH = dragged.getHeight();
 
 		if (dragged.getXPositionMode() == WidgetPositionMode.ABSOLUTE_RIGHT)
 		{
 			dragX = containerWidth - dragX - dragW;
 		}
 
-		Widget overlap = null;
-		int maxArea = -1;
-
-		for (Binding binding : bindingManager.all())
-		{
-			Widget handler = binding.getHandler();
-			if (handler == null || handler == dragged)
-			{
-				continue;
-			}
-
-			int handlerX = handler.getOriginalX();
-			if (manager.isFixedMode() && handler.getXPositionMode() == WidgetPositionMode.ABSOLUTE_RIGHT)
-			{
-				Widget bound = client.getWidget(binding.getModern().getComponentId());
-				if (bound != null)
-				{
-					handlerX = handlerX - (handler.getParent().getWidth() - bound.getParent().getWidth());
-				}
-			}
-
-			int handlerY = handler.getOriginalY();
-			if (!manager.isCompactLayout() && !manager.isFixedMode())
-			{
-				handlerY -= ORBS_CONTAINER_OFFSET_Y;
-			}
-
-			if (handler.getXPositionMode() == WidgetPositionMode.ABSOLUTE_RIGHT)
-			{
-				handlerX = containerWidth - handlerX - handler.getWidth();
-			}
-
-			int overlapW = Math.min(dragX + dragW, handlerX + handler.getWidth()) - Math.max(dragX, handlerX);
-			int overlapH = Math.min(dragY + dragH, handlerY + handler.getHeight()) - Math.max(dragY, handlerY);
-			if ((overlapW >= -2 && overlapH >= 1) || (overlapW >= 1 && overlapH >= -2))
-			{
-				int area = Math.max(0, overlapW) * Math.max(0, overlapH);
-				if (area > maxArea)
-				{
-					maxArea = area;
-					overlap = handler;
-				}
-			}
-		}
-
-		return overlap;
+		return handlerIndex.findOverlapping(dragged, dragX, pos.y, dragW, dragged.getHeight(), containerWidth);
 	}
 
 	private void setPosition(Widget widget, Point pos)
+	{
+		setPosition(widget, pos.x, pos.y);
+	}
+
+	private void setPosition(Widget widget, int x, int y)
 	{
 		if (widget == null)
 		{
 			return;
 		}
 
-		widget.setOriginalX(pos.x);
-		widget.setOriginalY(pos.y);
+		widget.setOriginalX(x);
+		widget.setOriginalY(y);
 		widget.revalidate();
+
+		//written outside a remap
+		propertyWriter.invalidate();
+	}
+
+	//the container doesn't move while dragging, so its bounds are only read once per drag
+	private Rectangle getContainerBounds(Widget container)
+	{
+		if (dragState.boundsContainer != container)
+		{
+			dragState.bounds.setBounds(container.getBounds());
+			dragState.boundsContainer = container;
+		}
+
+		return dragState.bounds;
 	}
 
+	//returns the shared dragState.position, copy it if it needs to outlive the next call
 	public Point getDragPosition(Widget dragged, Rectangle bounds)
 	{
-		int x = dragState.current.x - bounds.x - dragState.offset.x;
-		int y = dragState.current.y - bounds.y - dragState.offset.y;
+		final long current = dragState.getCurrent();
+		int x = DragState.x(current) - bounds.x - dragState.offset.x;
+		int y = DragState.y(current) - bounds.y - dragState.offset.y;
 
 		int maxX = bounds.width - dragged.getWidth();
 		int maxY = bounds.height - dragged.getHeight();
@@ -363,42 +380,48 @@ public class DragListener implements MouseListener
 			maxX = bounds.width - dragged.getWidth();
 		}
 
-		return clamp(new Point(x, y), maxX, maxY);
+		Point pos = dragState.position;
+		pos.x = clamp(x, maxX);
+		pos.y = clamp(y, maxY);
+		return pos;
 	}
 
-	private Point clamp(Point pos, int maxX, int maxY)
+	private static int clamp(int value, int max)
 	{
-		return new Point(
-			Math.max(0, Math.min(pos.x, maxX)),
-			Math.max(0, Math.min(pos.y, maxY))
-		);
+		return Math.max(0, Math.min(value, max));
 	}
 
+	//returns the shared dragState.handlerPosition, copy it if it needs to outlive the next call
 	public Point toBoundPosition(Widget handler, Widget bound, Point bounds)
 	{
-		Point offset = getLayoutOffsets();
+		int x = bounds.x;
+		int y = bounds.y;
+
 		if (handler.getParent() != bound.getParent())
 		{
 			if (!manager.isCompactLayout() && !manager.isFixedMode())
 			{
-				bounds = new Point(bounds.x, bounds.y + ORBS_CONTAINER_OFFSET_Y);
+				y += ORBS_CONTAINER_OFFSET_Y;
 			}
 
 			if (bound.getXPositionMode() == WidgetPositionMode.ABSOLUTE_RIGHT)
 			{
-				bounds = new Point(bounds.x + (handler.getParent().getWidth() - bound.getParent().getWidth()), bounds.y);
+				x += handler.getParent().getWidth() - bound.getParent().getWidth();
 			}
 		}
 
-		return new Point(bounds.x + offset.x, bounds.y + offset.y);
+		Point pos = dragState.handlerPosition;
+		pos.x = x + manager.getLayoutXOffset();
+		pos.y = y + manager.getLayoutYOffset();
+		return pos;
 	}
 
+	//returns the shared dragState.handlerPosition, copy it if it needs to outlive the next call
 	public Point toHandlerPosition(Widget handler, Widget bound)
 	{
 		int x = handler.getOriginalX();
 		int y = handler.getOriginalY();
 
-		Point offset = getLayoutOffsets();
 		if (bound.getParent() != handler.getParent())
 		{
 			if (!manager.isCompactLayout() && !manager.isFixedMode())
@@ -412,35 +435,30 @@ public class DragListener implements MouseListener
 			}
 		}
 
-		x -= offset.x;
-		y -= offset.y;
-
-		return new Point(x, y);
-	}
-
-	private Point getLayoutOffsets()
-	{
-		return new Point(manager.getLayoutXOffset(), manager.getLayoutYOffset());
+		Point pos = dragState.handlerPosition;
+		pos.x = x - manager.getLayoutXOffset();
+		pos.y = y - manager.getLayoutYOffset();
+		return pos;
 	}
 
 	@Override
 	public MouseEvent mousePressed(MouseEvent event)
 	{
-		dragState.origin = event.getPoint();
+		dragState.setOrigin(event.getX(), event.getY());
 		return event;
 	}
 
 	@Override
 	public MouseEvent mouseDragged(MouseEvent event)
 	{
-		dragState.current = event.getPoint();
+		dragState.setCurrent(event.getX(), event.getY());
 		return event;
 	}
 
 	@Override
 	public MouseEvent mouseMoved(MouseEvent event)
 	{
-		dragState.current = event.getPoint();
+		dragState.setCurrent(event.getX(), event.getY());
 		return event;
 	}
 
@@ -26,15 +26,28 @@
 package com.compactorbs.widget.layout.edit;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import javax.inject.Singleton;
 import net.runelite.api.widgets.Widget;
 
 @Singleton
 public class DragState
 {
-	public Point origin = new Point(0, 0);
-	public Point current = new Point(0, 0);
-	public Point offset = new Point(0, 0);
+	//written by the mouse listener (AWT thread) and read on the client thread, x/y are packed into one
+	//volatile long so a read always sees both from the same mouse event, without allocating per event
+	private volatile long origin;
+	private volatile long current;
+
+	//updated in place, nothing is allocated per tick while dragging
+	public final Point offset = new Point(0, 0);
+
+	//scratch positions, only valid until the next call that writes them
+	public final Point position = new Point(0, 0);
+	public final Point handlerPosition = new Point(0, 0);
+
+	//bounds of the drag container, read once per drag
+	public final Rectangle bounds = new Rectangle();
+	public Widget boundsContainer;
 
 	public Widget lastDraggedHandler;
 	public Widget lastDraggedOn;
@@ -43,12 +56,49 @@ public class DragState
 
 	public boolean wasDragging;
 
+	public void setOrigin(int x, int y)
+	{
+		origin = pack(x, y);
+	}
+
+	public void setCurrent(int x, int y)
+	{
+		current = pack(x, y);
+	}
+
+	//read once, then unpacked with x()/y()
+	public long getOrigin()
+	{
+		return origin;
+	}
+
+	public long getCurrent()
+	{
+		return current;
+	}
+
+	public static int x(long position)
+	{
+		return (int) (position >> 32);
+	}
+
+	public static int y(long position)
+	{
+		return (int) position;
+	}
+
+	private static long pack(int x, int y)
+	{
+		return (long) x << 32 | y & 0xFFFFFFFFL;
+	}
+
 	public void clear()
 	{
 		lastDraggedHandler = null;
 		lastDraggedOn = null;
 		handlerIndicator = null;
 		boundIndicator = null;
+		boundsContainer = null;
 		wasDragging = false;
 	}
 }
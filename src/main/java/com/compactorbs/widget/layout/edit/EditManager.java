@@ -33,7 +33,11 @@ import static com.compactorbs.CompactOrbsConstants.Layout.ORBS_CONTAINER_OFFSET_
 import com.compactorbs.CompactOrbsConstants.MenuOp;
 import static com.compactorbs.CompactOrbsConstants.MenuOp.RESET_ALL_OP_INDEX;
 import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.util.ConfigWriteQueue;
+import com.compactorbs.widget.MinimapRendering;
+import com.compactorbs.widget.TargetRegistry;
 import com.compactorbs.widget.TargetWidget;
+import com.compactorbs.widget.RemapScheduler;
 import com.compactorbs.widget.WidgetManager;
 import com.compactorbs.widget.elements.Button;
 import com.compactorbs.widget.elements.Compass;
@@ -41,8 +45,6 @@ import com.compactorbs.widget.elements.Minimap;
 import com.compactorbs.widget.elements.Orbs;
 import com.compactorbs.widget.layout.HideOrbConfig;
 import com.compactorbs.widget.layout.HideOrbRegistry;
-import java.util.HashMap;
-import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -80,10 +82,23 @@ public class EditManager
 	@Inject
 	private HideOrbRegistry hideConfig;
 
+	@Inject
+	private ConfigWriteQueue configWrites;
+
+	@Inject
+	private RemapScheduler remapScheduler;
+
+	@Inject
+	private MinimapRendering minimapRendering;
+
 	private Widget editBackground;
 	private Widget blackoutMinimapRight;
 	private Widget blackoutMinimapLeft;
-	private final Map<TargetWidget, Widget> handlers = new HashMap<>();
+
+	//by TargetRegistry id, pooled across edit sessions (hidden in between) while their parent survives
+	private final Widget[] handlers = new Widget[TargetRegistry.COUNT];
+	private Widget boundIndicator;
+	private Widget handlerParent;
 
 	//format: {modern, classic, fixed}
 	public static final TargetWidget[][] EDIT_TARGETS =
@@ -111,8 +126,16 @@ public class EditManager
 
 	public boolean blockEditing(TargetWidget target)
 	{
-		return (target.isLogoutX() && (manager.isClassicResizable() || manager.isFixedMode())) ||
-			(target.isCompass() && !manager.isCompactLayout()) ||
+		return blockEditing(target,
+			TargetRegistry.displayMode(manager.isFixedMode(), manager.isClassicResizable()),
+			manager.isCompactLayout());
+	}
+
+	//@displayMode - TargetRegistry display mode
+	public boolean blockEditing(TargetWidget target, int displayMode, boolean compact)
+	{
+		return (target.isLogoutX() && displayMode != TargetRegistry.MODERN) ||
+			(target.isCompass() && !compact) ||
 			(target == Orbs.STORE_ORB_CONTAINER && manager.isStoreOrbDisabled()) ||
 			(target == Orbs.ACTIVITY_ORB_CONTAINER && manager.isActivityOrbDisabled()) ||
 			(target.isWiki() && manager.isWikiBannerDisabled() && !manager.isWikiPluginConfigEnabled());
@@ -120,6 +143,9 @@ public class EditManager
 
 	public void toggleEditMode(boolean state)
 	{
+		//apply anything pending from scripts before the layout is rebuilt for/after editing
+		remapScheduler.flush();
+
 		final Widget parent = widgetManager.getMapParent();
 		if (parent == null || !state)
 		{
@@ -132,6 +158,13 @@ public class EditManager
 
 	private void enableEditMode(Widget parent)
 	{
+		//the client replaced the map parent (display mode change, interface reload), so the pool is gone with it
+		if (parent != handlerParent)
+		{
+			releaseHandlers();
+			handlerParent = parent;
+		}
+
 		bindingManager.clear();
 		manager.isEditingLayout = true;
 		disableMinimap();
@@ -160,14 +193,7 @@ public class EditManager
 				continue;
 			}
 
-			final Widget handler = widgetManager.createHandler(parent,
-				setHandlerX(bound, parent),
-				setHandlerY(bound, parent),
-				bound.getOriginalWidth(), bound.getOriginalHeight(),
-				bound.getXPositionMode(), bound.getYPositionMode(),
-				true);
-
-			handlers.put(target, handler);
+			final Widget handler = getHandler(TargetRegistry.id(target), bound, parent);
 
 			final HideOrbConfig toggle = hideConfig.getByTarget(target);
 			if (toggle != null)
@@ -200,7 +226,41 @@ public class EditManager
 			}
 		}
 
-		dragState.boundIndicator = widgetManager.createIndicator(parent);
+		if (widgetManager.isChildOf(parent, boundIndicator))
+		{
+			widgetManager.hideIndicator(boundIndicator);
+			boundIndicator.setHidden(false);
+		}
+		else
+		{
+			boundIndicator = widgetManager.createIndicator(parent);
+		}
+
+		dragState.boundIndicator = boundIndicator;
+	}
+
+	//the pooled handler moved over @bound, or a new one if it was never created (or deleted since)
+	private Widget getHandler(int id, Widget bound, Widget parent)
+	{
+		final int x = setHandlerX(bound, parent);
+		final int y = setHandlerY(bound, parent);
+
+		Widget handler = handlers[id];
+		if (widgetManager.isChildOf(parent, handler))
+		{
+			widgetManager.resetHandler(handler, x, y,
+				bound.getOriginalWidth(), bound.getOriginalHeight(),
+				bound.getXPositionMode(), bound.getYPositionMode());
+			return handler;
+		}
+
+		handler = widgetManager.createHandler(parent, x, y,
+			bound.getOriginalWidth(), bound.getOriginalHeight(),
+			bound.getXPositionMode(), bound.getYPositionMode(),
+			true);
+
+		handlers[id] = handler;
+		return handler;
 	}
 
 	private void setupHiddenOrbs(TargetWidget target, boolean isHidden)
@@ -281,10 +341,12 @@ public class EditManager
 
 				case MenuOp.RESET_POSITION_OP_INDEX:
 					manager.resetTargetsSavedPosition(binding, true);
+					configWrites.flush();
 					break;
 
 				case RESET_ALL_OP_INDEX:
 					manager.resetAllSavedPositions(true);
+					configWrites.flush();
 					break;
 
 				case MenuOp.EDIT_MODE_OP_INDEX:
@@ -302,20 +364,31 @@ public class EditManager
 		manager.hideWorldMap = config.hideWorld();
 		manager.hideLogoutX = config.hideLogout();
 
+		for (Binding binding : bindingManager.all())
+		{
+			final HideOrbConfig toggle = hideConfig.getByTarget(getBoundTarget(binding));
+			if (toggle != null && binding.isHidden() != toggle.getGetter().get())
+			{
+				configWrites.set(toggle.getConfigKey(), binding.isHidden());
+			}
+		}
+
+		if (manager.isUpdatingProfile)
+		{
+			configWrites.discard();
+		}
+		else
+		{
+			//write before hiding, the orbs are hidden from the config values
+			configWrites.flush();
+		}
+
 		for (Binding binding : bindingManager.all())
 		{
 			final TargetWidget target = getBoundTarget(binding);
 			final HideOrbConfig toggle = hideConfig.getByTarget(target);
 			if (toggle != null)
 			{
-				if (binding.isHidden() != toggle.getGetter().get())
-				{
-					if (!manager.isUpdatingProfile)
-					{
-						manager.saveConfig(toggle.getConfigKey(), binding.isHidden());
-					}
-				}
-
 				manager.hideOrbByConfig(toggle.getConfigKey());
 			}
 
@@ -328,8 +401,8 @@ public class EditManager
 	//restore the minimap to a clean state post-edit
 	private void cleanupEditMode()
 	{
-		widgetManager.restoreMinimapRendering();
 		manager.rebuildLayout();
+		minimapRendering.update();
 		clearEditChildren();
 
 		Widget parent = widgetManager.getMapParent();
@@ -344,7 +417,7 @@ public class EditManager
 	//should probably not do this, but i cba with minimap clicks
 	private void disableMinimap()
 	{
-		widgetManager.removeMinimapRendering();
+		minimapRendering.update();
 
 		if (!manager.isFixedMode())
 		{
@@ -374,17 +447,22 @@ public class EditManager
 
 	}
 
-	//remove handlers, indicators, and background
+	//hide the pooled handlers and indicator for the next session, remove the background
 	public void clearEditChildren()
 	{
-		for (Widget handler : handlers.values())
+		for (Widget handler : handlers)
 		{
-			widgetManager.clearChild(handler);
+			if (handler != null)
+			{
+				handler.setHidden(true);
+			}
 		}
 
-		handlers.clear();
+		if (boundIndicator != null)
+		{
+			boundIndicator.setHidden(true);
+		}
 
-		widgetManager.clearChild(dragState.boundIndicator);
 		widgetManager.clearChild(editBackground);
 		widgetManager.clearChild(blackoutMinimapRight);
 		widgetManager.clearChild(blackoutMinimapLeft);
@@ -395,6 +473,20 @@ public class EditManager
 		blackoutMinimapLeft = null;
 	}
 
+	//remove the pooled handlers and indicator, on a new parent or shutdown
+	public void releaseHandlers()
+	{
+		for (int id = 0; id < handlers.length; id++)
+		{
+			widgetManager.clearChild(handlers[id]);
+			handlers[id] = null;
+		}
+
+		widgetManager.clearChild(boundIndicator);
+		boundIndicator = null;
+		handlerParent = null;
+	}
+
 	private TargetWidget getBoundTarget(Binding binding)
 	{
 		return manager.isClassicResizable() && binding.getClassic() != null
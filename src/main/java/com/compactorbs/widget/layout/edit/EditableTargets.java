@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget.layout.edit;
+
+import com.compactorbs.widget.TargetRegistry;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+//the targets that can be edited in each display mode, with and without the compact layout, as bitsets by TargetRegistry id
+//blockEditing reads varbits and the wiki plugins config, so it's asked once per state change instead of once per remapped value
+//dropped whenever the layout is invalidated, which covers the store/activity/wiki varbits and the wiki plugin and its config
+@Singleton
+public class EditableTargets
+{
+	private static final int MODES = TargetRegistry.FIXED + 1;
+	private static final int WORDS = (TargetRegistry.COUNT + Long.SIZE - 1) / Long.SIZE;
+
+	@Inject
+	private EditManager editManager;
+
+	//[compact][display mode][word]
+	private final long[][][] editable = new long[2][MODES][WORDS];
+
+	//config changes can come in from outside the client thread
+	private volatile boolean valid;
+
+	public void invalidate()
+	{
+		valid = false;
+	}
+
+	//@id - TargetRegistry id, may be -1
+	public boolean isEditable(int id, int displayMode, boolean compact)
+	{
+		if (id == -1)
+		{
+			return false;
+		}
+
+		if (!valid)
+		{
+			compute();
+		}
+
+		return (editable[compact ? 1 : 0][displayMode][id >>> 6] & (1L << id)) != 0;
+	}
+
+	private void compute()
+	{
+		//marked before reading the state, so an invalidation part way through isn't lost
+		valid = true;
+
+		for (int compact = 0; compact < 2; compact++)
+		{
+			for (int mode = 0; mode < MODES; mode++)
+			{
+				long[] words = editable[compact][mode];
+				for (int word = 0; word < WORDS; word++)
+				{
+					words[word] = 0;
+				}
+
+				for (int id = 0; id < TargetRegistry.COUNT; id++)
+				{
+					if (TargetRegistry.isEditable(id, mode)
+						&& !editManager.blockEditing(TargetRegistry.get(id), mode, compact == 1))
+					{
+						words[id >>> 6] |= 1L << id;
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.layout.edit;
+
+import static com.compactorbs.CompactOrbsConstants.Layout.ORBS_CONTAINER_OFFSET_Y;
+import com.compactorbs.CompactOrbsManager;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetPositionMode;
+
+//uniform grid over the edit-mode handlers, in the drag containers space
+//built on the first query after the bindings change, and only updated per handler when one is moved
+@Singleton
+public class HandlerIndex
+{
+	private static final int CELL_SIZE = 32;
+
+	//handlers within this many pixels of the dragged widget still count as overlapping
+	private static final int TOUCH_MARGIN = 2;
+
+	@Inject
+	private Client client;
+
+	@Inject
+	private CompactOrbsManager manager;
+
+	@Inject
+	private BindingManager bindingManager;
+
+	//in binding order, so ties resolve the same as a scan over all bindings
+	private Binding[] bindings = new Binding[0];
+
+	//transformed handler rectangles, x/y/w/h per handler
+	private int[] rects = new int[0];
+	private int count;
+
+	private int builtVersion = -1;
+	private int builtWidth = -1;
+
+	private int originX;
+	private int originY;
+	private int columns;
+	private int rows;
+
+	//handler indexes per cell
+	private int[][] cells = new int[0][];
+	private int[] cellSizes = new int[0];
+
+	//query stamp per handler, so handlers spanning several cells are only checked once
+	private int[] seen = new int[0];
+	private int query;
+
+	public void invalidate()
+	{
+		builtVersion = -1;
+	}
+
+	//the handler with the largest overlap with the dragged rect, or null
+	public Widget findOverlapping(Widget dragged, int dragX, int dragY, int dragW, int dragH, int containerWidth)
+	{
+		if (builtVersion != bindingManager.getVersion() || builtWidth != containerWidth)
+		{
+			build(containerWidth);
+		}
+
+		if (count == 0)
+		{
+			return null;
+		}
+
+		int minColumn = Math.max(0, column(dragX - TOUCH_MARGIN));
+		int maxColumn = Math.min(columns - 1, column(dragX + dragW + TOUCH_MARGIN));
+		int minRow = Math.max(0, row(dragY - TOUCH_MARGIN));
+		int maxRow = Math.min(rows - 1, row(dragY + dragH + TOUCH_MARGIN));
+		if (minColumn > maxColumn || minRow > maxRow)
+		{
+			return null;
+		}
+
+		if (++query == 0)
+		{
+			Arrays.fill(seen, 0);
+			query = 1;
+		}
+
+		int overlap = -1;
+		int maxArea = -1;
+
+		for (int row = minRow; row <= maxRow; row++)
+		{
+			for (int column = minColumn; column <= maxColumn; column++)
+			{
+				int cell = row * columns + column;
+				int[] indexes = cells[cell];
+
+				for (int i = 0; i < cellSizes[cell]; i++)
+				{
+					int index = indexes[i];
+					if (seen[index] == query)
+					{
+						continue;
+					}
+
+					seen[index] = query;
+
+					if (bindings[index].getHandler() == dragged)
+					{
+						continue;
+					}
+
+					int offset = index * 4;
+					int handlerX = rects[offset];
+					int handlerY = rects[offset + 1];
+
+					int overlapW = Math.min(dragX + dragW, handlerX + rects[offset + 2]) - Math.max(dragX, handlerX);
+					int overlapH = Math.min(dragY + dragH, handlerY + rects[offset + 3]) - Math.max(dragY, handlerY);
+					if ((overlapW >= -TOUCH_MARGIN && overlapH >= 1) || (overlapW >= 1 && overlapH >= -TOUCH_MARGIN))
+					{
+						int area = Math.max(0, overlapW) * Math.max(0, overlapH);
+						if (area > maxArea || (area == maxArea && index < overlap))
+						{
+							maxArea = area;
+							overlap = index;
+						}
+					}
+				}
+			}
+		}
+
+		return overlap < 0 ? null : bindings[overlap].getHandler();
+	}
+
+	//re-bucket a handler after its position changed, the dragged handler is skipped by its own queries
+	//so it's only needed once the drag ends
+	public void moved(Widget handler)
+	{
+		if (handler == null || builtVersion != bindingManager.getVersion())
+		{
+			return;
+		}
+
+		for (int index = 0; index < count; index++)
+		{
+			if (bindings[index].getHandler() != handler)
+			{
+				continue;
+			}
+
+			removeFromCells(index);
+			updateRect(index, builtWidth);
+
+			//outside the current grid, rebuild it on the next query
+			int offset = index * 4;
+			if (rects[offset] < originX || rects[offset + 1] < originY ||
+				column(rects[offset] + rects[offset + 2]) >= columns ||
+				row(rects[offset + 1] + rects[offset + 3]) >= rows)
+			{
+				invalidate();
+				return;
+			}
+
+			addToCells(index);
+			return;
+		}
+	}
+
+	private void build(int containerWidth)
+	{
+		int size = bindingManager.all().size();
+		if (bindings.length < size)
+		{
+			bindings = new Binding[size];
+			rects = new int[size * 4];
+			seen = new int[size];
+		}
+
+		count = 0;
+		for (Binding binding : bindingManager.all())
+		{
+			if (binding.getHandler() == null)
+			{
+				continue;
+			}
+
+			bindings[count] = binding;
+			updateRect(count, containerWidth);
+			count++;
+		}
+
+		Arrays.fill(bindings, count, bindings.length, null);
+
+		builtVersion = bindingManager.getVersion();
+		builtWidth = containerWidth;
+
+		if (count == 0)
+		{
+			columns = 0;
+			rows = 0;
+			return;
+		}
+
+		int minX = Integer.MAX_VALUE;
+		int minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE;
+		int maxY = Integer.MIN_VALUE;
+
+		for (int index = 0; index < count; index++)
+		{
+			int offset = index * 4;
+			minX = Math.min(minX, rects[offset]);
+			minY = Math.min(minY, rects[offset + 1]);
+			maxX = Math.max(maxX, rects[offset] + rects[offset + 2]);
+			maxY = Math.max(maxY, rects[offset + 1] + rects[offset + 3]);
+		}
+
+		originX = minX;
+		originY = minY;
+		columns = (maxX - minX) / CELL_SIZE + 1;
+		rows = (maxY - minY) / CELL_SIZE + 1;
+
+		int cellCount = columns * rows;
+		if (cells.length < cellCount)
+		{
+			cells = new int[cellCount][];
+			cellSizes = new int[cellCount];
+		}
+
+		Arrays.fill(cellSizes, 0);
+
+		for (int index = 0; index < count; index++)
+		{
+			addToCells(index);
+		}
+	}
+
+	//same transforms the drag position goes through, applied once instead of per tick
+	private void updateRect(int index, int containerWidth)
+	{
+		Binding binding = bindings[index];
+		Widget handler = binding.getHandler();
+
+		int handlerX = handler.getOriginalX();
+		if (manager.isFixedMode() && handler.getXPositionMode() == WidgetPositionMode.ABSOLUTE_RIGHT)
+		{
+			Widget bound = client.getWidget(binding.getModern().getComponentId());
+			if (bound != null)
+			{
+				handlerX = handlerX - (handler.getParent().getWidth() - bound.getParent().getWidth());
+			}
+		}
+
+		int handlerY = handler.getOriginalY();
+		if (!manager.isCompactLayout() && !manager.isFixedMode())
+		{
+			handlerY -= ORBS_CONTAINER_OFFSET_Y;
+		}
+
+		if (handler.getXPositionMode() == WidgetPositionMode.ABSOLUTE_RIGHT)
+		{
+			handlerX = containerWidth - handlerX - handler.getWidth();
+		}
+
+		int offset = index * 4;
+		rects[offset] = handlerX;
+		rects[offset + 1] = handlerY;
+		rects[offset + 2] = handler.getWidth();
+		rects[offset + 3] = handler.getHeight();
+	}
+
+	private void addToCells(int index)
+	{
+		int offset = index * 4;
+		int maxColumn = column(rects[offset] + rects[offset + 2]);
+		int maxRow = row(rects[offset + 1] + rects[offset + 3]);
+
+		for (int row = row(rects[offset + 1]); row <= maxRow; row++)
+		{
+			for (int column = column(rects[offset]); column <= maxColumn; column++)
+			{
+				int cell = row * columns + column;
+				int[] indexes = cells[cell];
+				if (indexes == null || indexes.length == cellSizes[cell])
+				{
+					indexes = cells[cell] = indexes == null ? new int[4] : Arrays.copyOf(indexes, indexes.length * 2);
+				}
+
+				indexes[cellSizes[cell]++] = index;
+			}
+		}
+	}
+
+	private void removeFromCells(int index)
+	{
+		int offset = index * 4;
+		int minColumn = Math.max(0, column(rects[offset]));
+		int maxColumn = Math.min(columns - 1, column(rects[offset] + rects[offset + 2]));
+		int minRow = Math.max(0, row(rects[offset + 1]));
+		int maxRow = Math.min(rows - 1, row(rects[offset + 1] + rects[offset + 3]));
+
+		for (int row = minRow; row <= maxRow; row++)
+		{
+			for (int column = minColumn; column <= maxColumn; column++)
+			{
+				int cell = row * columns + column;
+				int[] indexes = cells[cell];
+
+				for (int i = 0; i < cellSizes[cell]; i++)
+				{
+					if (indexes[i] == index)
+					{
+						indexes[i] = indexes[--cellSizes[cell]];
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private int column(int x)
+	{
+		return Math.floorDiv(x - originX, CELL_SIZE);
+	}
+
+	private int row(int y)
+	{
+		return Math.floorDiv(y - originY, CELL_SIZE);
+	}
+}
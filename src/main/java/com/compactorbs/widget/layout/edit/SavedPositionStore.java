@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.layout.edit;
+
+import static com.compactorbs.CompactOrbsConstants.ConfigGroup.GROUP_NAME;
+import com.compactorbs.CompactOrbsConstants.ConfigKeys;
+import com.compactorbs.util.ConfigWriteQueue;
+import com.compactorbs.util.ValueKey;
+import com.compactorbs.widget.TargetRegistry;
+import com.compactorbs.widget.TargetWidget;
+import com.compactorbs.widget.elements.Orbs;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.config.ConfigManager;
+
+//saved X/Y positions for every editable target, read from the config once per profile
+//remapping reads from here instead of building a config key and parsing the value each time
+//writes update the table immediately, and are queued to be written to the config
+@Singleton
+public class SavedPositionStore
+{
+	//prefix ordinals, the first index of the table
+	public static final int CUSTOM = 0;
+	public static final int VANILLA = 1;
+	public static final int FIXED = 2;
+
+	private static final String[] PREFIXES =
+		{
+			ConfigKeys.CUSTOM_LAYOUT_PREFIX,
+			ConfigKeys.VANILLA_LAYOUT_PREFIX,
+			ConfigKeys.FIXED_LAYOUT_PREFIX
+		};
+
+	//slots by TargetRegistry id (of the component/array id, so targets sharing a widget share its position)
+	private static final int SIZE = TargetRegistry.COUNT * 2;
+
+	//config keys, built once - [prefix][id * 2 + x/y], null for targets that can't have a saved position
+	private static final String[][] KEYS = new String[PREFIXES.length][SIZE];
+	private static final Map<String, Integer> SLOT_BY_KEY = new HashMap<>();
+
+	static
+	{
+		//every target that can have a saved position, the edit targets and the logout X stone (bound to the icon)
+		for (TargetWidget target : flattenTargets())
+		{
+			int id = TargetRegistry.find(target.getComponentId(), target.getArrayId());
+			for (int p = 0; p < PREFIXES.length; p++)
+			{
+				String key = PREFIXES[p] + target.getComponentId() + "_" + target.getArrayId();
+
+				KEYS[p][id * 2] = key + "_x";
+				KEYS[p][id * 2 + 1] = key + "_y";
+				SLOT_BY_KEY.put(KEYS[p][id * 2], p * SIZE + id * 2);
+				SLOT_BY_KEY.put(KEYS[p][id * 2 + 1], p * SIZE + id * 2 + 1);
+			}
+		}
+	}
+
+	@Inject
+	private ConfigManager configManager;
+
+	@Inject
+	private ConfigWriteQueue configWrites;
+
+	//-1 when there is no saved position
+	private final int[][] values = new int[PREFIXES.length][SIZE];
+	private volatile boolean loaded;
+
+	//on profile change / startup, the next read reloads everything from the config
+	public void invalidate()
+	{
+		loaded = false;
+	}
+
+	public static String getPrefix(int prefix)
+	{
+		return PREFIXES[prefix];
+	}
+
+	//@prefix - CUSTOM, VANILLA or FIXED
+	public int get(int prefix, int componentId, int arrayId, ValueKey key)
+	{
+		int slot = slotOf(TargetRegistry.find(componentId, arrayId), key);
+		if (slot == -1)
+		{
+			return -1;
+		}
+
+		if (!loaded)
+		{
+			load();
+		}
+
+		return values[prefix][slot];
+	}
+
+	public void set(int prefix, TargetWidget target, int x, int y)
+	{
+		write(prefix, target, ValueKey.X, x);
+		write(prefix, target, ValueKey.Y, y);
+	}
+
+	public void unset(int prefix, TargetWidget target)
+	{
+		write(prefix, target, ValueKey.X, -1);
+		write(prefix, target, ValueKey.Y, -1);
+	}
+
+	public void unsetAll()
+	{
+		for (int p = 0; p < PREFIXES.length; p++)
+		{
+			for (int slot = 0; slot < SIZE; slot++)
+			{
+				if (KEYS[p][slot] != null)
+				{
+					write(p, slot, -1);
+				}
+			}
+		}
+	}
+
+	//keep the table in sync with changes made outside the plugin (config panel, profile sync, full reset)
+	//@return true if the key was a saved position
+	public boolean update(String key, String value)
+	{
+		Integer slot = SLOT_BY_KEY.get(key);
+		if (slot == null)
+		{
+			return false;
+		}
+
+		values[slot / SIZE][slot % SIZE] = parse(value);
+		return true;
+	}
+
+	private void write(int prefix, TargetWidget target, ValueKey key, int value)
+	{
+		int slot = target != null ? slotOf(TargetRegistry.find(target.getComponentId(), target.getArrayId()), key) : -1;
+		if (slot != -1)
+		{
+			write(prefix, slot, value);
+		}
+	}
+
+	private void write(int p, int slot, int value)
+	{
+		if (!loaded)
+		{
+			load();
+		}
+
+		values[p][slot] = value;
+
+		if (value == -1)
+		{
+			configWrites.unset(KEYS[p][slot]);
+		}
+		else
+		{
+			configWrites.set(KEYS[p][slot], value);
+		}
+	}
+
+	private void load()
+	{
+		//mark first, an invalidation while loading will reload on the next read
+		loaded = true;
+
+		for (int p = 0; p < PREFIXES.length; p++)
+		{
+			for (int i = 0; i < SIZE; i++)
+			{
+				if (KEYS[p][i] == null)
+				{
+					values[p][i] = -1;
+					continue;
+				}
+
+				Integer value = configManager.getConfiguration(GROUP_NAME, KEYS[p][i], Integer.class);
+				values[p][i] = value != null ? value : -1;
+			}
+		}
+	}
+
+	private static int parse(String value)
+	{
+		if (value == null)
+		{
+			return -1;
+		}
+
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch (NumberFormatException e)
+		{
+			return -1;
+		}
+	}
+
+	//-1 for anything but the X/Y of a target that can have a saved position
+	private static int slotOf(int id, ValueKey key)
+	{
+		if (id == -1 || key != ValueKey.X && key != ValueKey.Y)
+		{
+			return -1;
+		}
+
+		int slot = id * 2 + (key == ValueKey.X ? 0 : 1);
+		return KEYS[0][slot] != null ? slot : -1;
+	}
+
+	private static TargetWidget[] flattenTargets()
+	{
+		List<TargetWidget> targets = new ArrayList<>();
+		for (TargetWidget[] group : EditManager.EDIT_TARGETS)
+		{
+			for (TargetWidget target : group)
+			{
+				if (target != null && !targets.contains(target))
+				{
+					targets.add(target);
+				}
+			}
+		}
+		targets.add(Orbs.LOGOUT_X_STONE);
+		return targets.toArray(new TargetWidget[0]);
+	}
+}
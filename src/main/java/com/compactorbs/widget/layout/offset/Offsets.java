@@ -25,6 +25,7 @@
 
 package com.compactorbs.widget.layout.offset;
 
+import com.compactorbs.widget.TargetRegistry;
 import com.compactorbs.widget.TargetWidget;
 import com.compactorbs.widget.elements.Button;
 import com.compactorbs.widget.elements.Minimap;
@@ -43,8 +44,6 @@ import com.compactorbs.widget.layout.offset.impl.StoreOrbOffset;
 import com.compactorbs.widget.layout.offset.impl.WikiContainerOffset;
 import com.compactorbs.widget.layout.offset.impl.WorldMapOffset;
 import com.compactorbs.widget.layout.offset.impl.XPOrbOffset;
-import java.util.HashMap;
-import java.util.Map;
 import lombok.Getter;
 import net.runelite.api.widgets.Widget;
 
@@ -112,23 +111,13 @@ public enum Offsets
 		this.targets = targets;
 	}
 
-	private static final Map<String, Offsets> BY_WIDGET_ID = new HashMap<>();
-
-	static
+	public static Offsets get(Widget widget, int index)
 	{
-		for (Offsets key : values())
-		{
-			for (TargetWidget target : key.targets)
-			{
-				String id = target.getComponentId() + "_" + target.getArrayId();
-				BY_WIDGET_ID.put(id, key);
-			}
-		}
+		return get(widget.getId(), index);
 	}
 
-	public static Offsets get(Widget widget, int index)
+	public static Offsets get(int componentId, int arrayId)
 	{
-		String id = widget.getId() + "_" + index;
-		return BY_WIDGET_ID.get(id);
+		return TargetRegistry.getOffsets(TargetRegistry.find(componentId, arrayId));
 	}
 }
@@ -47,11 +47,12 @@ public class MinimapButtonOffset implements OffsetTarget
 				return x;
 			}
 
-			x = manager.getTogglePlacement().getX();
+			final TogglePlacement placement = manager.getTogglePlacement();
+			x = placement.getX();
 
 			if (manager.allowReordering() && !manager.isEditingLayout)
 			{
-				if (manager.getTogglePlacement() == TogglePlacement.BELOW_MAP
+				if (placement == TogglePlacement.BELOW_MAP
 					&& manager.isStoreHidden() && !manager.isStoreOrbDisabled())
 				{
 					x -= 33;
@@ -91,19 +92,20 @@ public class MinimapButtonOffset implements OffsetTarget
 				return y;
 			}
 
-			y = manager.getTogglePlacement().getY();
+			final TogglePlacement placement = manager.getTogglePlacement();
+			y = placement.getY();
 
 			if (!manager.isEditingLayout)
 			{
 				//offset when store is hidden and minimap is visible
 				if (manager.allowReordering() &&
-					manager.getTogglePlacement() == TogglePlacement.BELOW_MAP
+					placement == TogglePlacement.BELOW_MAP
 					&& manager.isStoreHidden() && !manager.isStoreOrbDisabled())
 				{
 					y -= 5;
 				}
 
-				if (manager.getTogglePlacement() == TogglePlacement.ABOVE_XP)
+				if (placement == TogglePlacement.ABOVE_XP)
 				{
 					if (manager.shouldOffsetXpOrb())
 					{
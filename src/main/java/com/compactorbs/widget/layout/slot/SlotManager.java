@@ -33,6 +33,8 @@ import com.compactorbs.widget.WidgetManager;
 import com.compactorbs.widget.elements.Orbs;
 import com.compactorbs.widget.layout.HideOrbConfig;
 import com.compactorbs.widget.layout.HideOrbRegistry;
+import com.compactorbs.widget.layout.LayoutPlan;
+import com.compactorbs.widget.layout.LayoutState;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.EnumMap;
@@ -58,6 +60,11 @@ public class SlotManager
 	@Inject
 	private HideOrbRegistry hideConfig;
 
+	@Inject
+	private LayoutPlan layoutPlan;
+
+	private static final int SLOTS = Slot.values().length;
+
 	public enum SlotLayoutMode
 	{
 		COMPACT,
@@ -67,15 +74,32 @@ public class SlotManager
 	@Getter
 	private SlotLayoutMode currentLayoutMode;
 
+	//inputs the current mode was resolved from
+	private LayoutState modeState;
+	private boolean modeFixed;
+
 	@Getter
 	private int hiddenCountAbove;
 
 	private final EnumMap<SlotLayoutMode, SlotLayout> layouts = new EnumMap<>(SlotLayoutMode.class);
 
+	//hidden sizes before/after each slot in its group, and the hidden size of the columns/rows
+	//only rebuilt when the layout plan is invalidated (hide configs, varbits, swaps, layout/anchor/display mode)
+	private final boolean[] grouped = new boolean[SLOTS];
+	private final int[] hiddenBefore = new int[SLOTS];
+	private final int[] hiddenCountBefore = new int[SLOTS];
+	private final int[] hiddenAfter = new int[SLOTS];
+	private final int[] hiddenCountAfter = new int[SLOTS];
+	private int hiddenColumnSize;
+	private int geometryGeneration;
+	private CompactOrbsLayout geometryLayout;
+	private SlotLayoutMode geometryMode;
+
 	public void clear()
 	{
 		layouts.clear();
 		currentLayoutMode = null;
+		geometryLayout = null;
 	}
 
 	public void init()
@@ -96,10 +120,21 @@ public class SlotManager
 	{
 		updateCurrentLayoutMode();
 		updateLayouts();
+		manager.invalidateLayout();
 	}
 
 	public void updateCurrentLayoutMode()
 	{
+		//the mode only changes with the layout state or the resize mode
+		final LayoutState state = manager.getLayoutState();
+		final boolean fixed = manager.isFixedMode();
+		if (currentLayoutMode != null && state == modeState && fixed == modeFixed)
+		{
+			return;
+		}
+
+		modeState = state;
+		modeFixed = fixed;
 		currentLayoutMode = manager.isCompactLayout()
 			? SlotLayoutMode.COMPACT
 			: SlotLayoutMode.VANILLA;
@@ -163,6 +198,7 @@ public class SlotManager
 		getCurrentLayout().swap(firstSlot, secondSlot);
 
 		registry.save(currentLayoutMode, getCurrentLayout());
+		manager.invalidateLayout();
 
 		remapOrbPositions();
 	}
@@ -190,17 +226,61 @@ public class SlotManager
 			return 0;
 		}
 
-		List<Slot> group = manager.getCurrentLayout().getGroup(slot);
+		validateGeometry();
 
-		int targetIndex = group.indexOf(slot);
-		if (targetIndex < 0)
+		int index = slot.ordinal();
+		if (!grouped[index])
 		{
 			return 0;
 		}
 
-		return isBelow
-			? getHiddenSize(group, targetIndex + 1, group.size())
-			: getHiddenSize(group, 0, targetIndex);
+		hiddenCountAbove = isBelow ? hiddenCountAfter[index] : hiddenCountBefore[index];
+		return isBelow ? hiddenAfter[index] : hiddenBefore[index];
+	}
+
+	private void validateGeometry()
+	{
+		CompactOrbsLayout layout = manager.getCurrentLayout();
+
+		//read first, an invalidation while rebuilding is picked up on the next call
+		int generation = layoutPlan.getGeneration();
+		if (generation == geometryGeneration && layout == geometryLayout && currentLayoutMode == geometryMode)
+		{
+			return;
+		}
+
+		geometryGeneration = generation;
+		geometryLayout = layout;
+		geometryMode = currentLayoutMode;
+
+		//getHiddenSize(group, start, end) overwrites the count, which is only meant to change on a lookup
+		int countAbove = hiddenCountAbove;
+
+		for (Slot slot : Slot.values())
+		{
+			int index = slot.ordinal();
+			List<Slot> group = layout.getGroup(slot);
+
+			int targetIndex = group.indexOf(slot);
+			grouped[index] = targetIndex >= 0;
+			if (targetIndex < 0)
+			{
+				continue;
+			}
+
+			hiddenBefore[index] = getHiddenSize(group, 0, targetIndex);
+			hiddenCountBefore[index] = hiddenCountAbove;
+
+			hiddenAfter[index] = getHiddenSize(group, targetIndex + 1, group.size());
+			hiddenCountAfter[index] = hiddenCountAbove;
+		}
+
+		hiddenColumnSize = Math.min(
+			getHiddenSize(layout.getA()),
+			getHiddenSize(layout.getB())
+		);
+
+		hiddenCountAbove = countAbove;
 	}
 
 	private int getHiddenSize(List<Slot> group, int start, int end)
@@ -237,12 +317,12 @@ public class SlotManager
 
 		if (target == Orbs.ACTIVITY_ORB_CONTAINER && manager.isActivityOrbDisabled())
 		{
-			return config.hideActivity() && manager.allowReordering();
+			return manager.getLayoutState().has(LayoutState.HIDE_ACTIVITY) && manager.allowReordering();
 		}
 
 		if (target == Orbs.STORE_ORB_CONTAINER && manager.isStoreOrbDisabled())
 		{
-			return config.hideStore() && manager.allowReordering();
+			return manager.isStoreHidden() && manager.allowReordering();
 		}
 
 		HideOrbConfig toggle = hideConfig.getByTarget(target);
@@ -276,16 +356,13 @@ public class SlotManager
 
 	public int getHiddenSize()
 	{
-		if (config.leaveEmptySpace() || config.disableReordering() || manager.isEditingLayout)
+		if (manager.getLayoutState().has(LayoutState.LEAVE_EMPTY_SPACE) || !manager.allowReordering() || manager.isEditingLayout)
 		{
 			return 0;
 		}
 
-		CompactOrbsLayout layout = manager.getCurrentLayout();
-		return Math.min(
-			getHiddenSize(layout.getA()),
-			getHiddenSize(layout.getB())
-		);
+		validateGeometry();
+		return hiddenColumnSize;
 	}
 
 	private int getHiddenSize(List<Slot> columnOrRow)
@@ -26,8 +26,8 @@
 package com.compactorbs.widget.layout.slot;
 
 import com.compactorbs.CompactOrbsConfig;
-import static com.compactorbs.CompactOrbsConstants.ConfigGroup.GROUP_NAME;
 import com.compactorbs.CompactOrbsConstants.ConfigKeys;
+import com.compactorbs.util.ConfigWriteQueue;
 import com.compactorbs.widget.TargetWidget;
 import com.compactorbs.widget.elements.Orbs;
 import com.compactorbs.widget.layout.slot.SlotManager.SlotLayoutMode;
@@ -37,13 +37,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.inject.Singleton;
-import net.runelite.client.config.ConfigManager;
 
 @Singleton
 public class SlotRegistry
 {
 	@Inject
-	private ConfigManager configManager;
+	private ConfigWriteQueue configWrites;
 
 	private final Map<SlotLayoutMode, EnumMap<Slot, SlotConfig>> configs =
 		Map.of(
@@ -145,7 +144,7 @@ public class SlotRegistry
 			return;
 		}
 
-		configManager.setConfiguration(GROUP_NAME, slotConfig.getConfigKey(), target);
+		configWrites.set(slotConfig.getConfigKey(), target);
 	}
 
 	public boolean isSwapConfig(String key)
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget.overlay;
+
+import com.compactorbs.CompactOrbsConstants.Widgets;
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
+import com.compactorbs.widget.MinimapRendering;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.BufferProvider;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+
+//redraws the detached minimap at a limited frame rate
+//on a refresh frame the client draws the minimap as usual, and the pixels inside the map are copied once its interface is drawn
+//in between, the minimap widget is hidden from BeforeRender until the interface is drawn, and the copy is drawn in its place
+//the widget is shown again right after, so it still takes clicks on the next client tick
+//moving, rotating the camera, zooming and dragging the minimap always refresh, so only the dots/animations are limited
+@Singleton
+public class MinimapFrameCache extends Overlay
+{
+	private final Client client;
+	private final CompactOrbsManager manager;
+	private final Stats stats;
+	private final MinimapRendering minimapRendering;
+
+	//redraws per second, 0 for every frame
+	private volatile int frameRate;
+
+	//decided in BeforeRender, carried out once the interface is drawn
+	private boolean capturePending;
+	private boolean drawPending;
+	private boolean rendered;
+
+	//the widget hidden for this frame, shown again after drawing
+	private Widget hidden;
+
+	private BufferedImage image;
+	private int[] imagePixels;
+	private long capturedAt;
+	private final Rectangle bounds = new Rectangle();
+
+	//the inputs that change what the minimap shows (or where), a change refreshes right away
+	private int lastPlayerX = Integer.MIN_VALUE;
+	private int lastPlayerY;
+	private int lastMapAngle;
+	private double lastZoom;
+	private int lastParentX;
+	private int lastParentY;
+	private int lastX;
+	private int lastY;
+
+	@Inject
+	private MinimapFrameCache(Client client, CompactOrbsManager manager, Stats stats, MinimapRendering minimapRendering)
+	{
+		this.client = client;
+		this.manager = manager;
+		this.stats = stats;
+		this.minimapRendering = minimapRendering;
+		setPosition(OverlayPosition.DYNAMIC);
+		setLayer(OverlayLayer.MANUAL);
+		drawAfterInterface(Widgets.MinimapOverlay.UNIVERSE >> 16);
+	}
+
+	public void setFrameRate(int frameRate)
+	{
+		this.frameRate = frameRate;
+	}
+
+	public void beforeRender()
+	{
+		//the interface might not have been drawn last frame (hidden, closed), so nothing is left hidden
+		restore();
+
+		final boolean wasRendered = rendered;
+		rendered = false;
+		capturePending = false;
+		drawPending = false;
+
+		final Widget widget = manager.getOverlayMinimap();
+		final int rate = frameRate;
+		//nothing to copy while the minimap isn't rendered
+		if (rate <= 0 || widget == null || widget.isHidden() || minimapRendering.isDetachedSuppressed())
+		{
+			invalidate();
+			return;
+		}
+
+		final long now = System.nanoTime();
+		if (image == null || !wasRendered || inputsChanged(widget) || now - capturedAt >= 1_000_000_000L / rate)
+		{
+			capturePending = true;
+			return;
+		}
+
+		widget.setHidden(true);
+		hidden = widget;
+		drawPending = true;
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!capturePending && !drawPending)
+		{
+			return null;
+		}
+
+		final long start = stats.start();
+		rendered = true;
+
+		if (capturePending)
+		{
+			capturePending = false;
+			capture(manager.getOverlayMinimap());
+		}
+		else
+		{
+			drawPending = false;
+			graphics.drawImage(image, bounds.x, bounds.y, null);
+			restore();
+		}
+
+		stats.stop(Timer.MINIMAP_FRAME_CACHE, start);
+		return null;
+	}
+
+	//drop the copy, the next frame draws the minimap as usual
+	public void invalidate()
+	{
+		restore();
+		image = null;
+		imagePixels = null;
+		lastPlayerX = Integer.MIN_VALUE;
+	}
+
+	private void restore()
+	{
+		if (hidden != null)
+		{
+			hidden.setHidden(false);
+			hidden = null;
+		}
+	}
+
+	private boolean inputsChanged(Widget widget)
+	{
+		final Player player = client.getLocalPlayer();
+		final LocalPoint location = player == null ? null : player.getLocalLocation();
+		final int playerX = location == null ? 0 : location.getX();
+		final int playerY = location == null ? 0 : location.getY();
+		final int mapAngle = client.getMapAngle();
+		final double zoom = client.getMinimapZoom();
+
+		final Widget parent = widget.getParent();
+		final int parentX = parent == null ? 0 : parent.getRelativeX();
+		final int parentY = parent == null ? 0 : parent.getRelativeY();
+
+		if (playerX == lastPlayerX && playerY == lastPlayerY && mapAngle == lastMapAngle && zoom == lastZoom
+			&& parentX == lastParentX && parentY == lastParentY
+			&& widget.getRelativeX() == lastX && widget.getRelativeY() == lastY)
+		{
+			return false;
+		}
+
+		lastPlayerX = playerX;
+		lastPlayerY = playerY;
+		lastMapAngle = mapAngle;
+		lastZoom = zoom;
+		lastParentX = parentX;
+		lastParentY = parentY;
+		lastX = widget.getRelativeX();
+		lastY = widget.getRelativeY();
+		return true;
+	}
+
+	//copy the pixels inside the round map, what's around it (the game scene) is left transparent
+	private void capture(Widget widget)
+	{
+		final BufferProvider buffer = client.getBufferProvider();
+		if (widget == null || buffer == null)
+		{
+			return;
+		}
+
+		bounds.setBounds(widget.getBounds());
+		final int width = bounds.width;
+		final int height = bounds.height;
+		if (width <= 0 || height <= 0)
+		{
+			return;
+		}
+
+		if (image == null || image.getWidth() != width || image.getHeight() != height)
+		{
+			image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			imagePixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		}
+
+		final int[] pixels = buffer.getPixels();
+		final int stride = buffer.getWidth();
+		final int bufferHeight = buffer.getHeight();
+
+		//twice the distance from the center, so the circle test stays in ints
+		final int diameter = Math.min(width, height);
+		final long radiusSquared = (long) diameter * diameter;
+
+		for (int y = 0; y < height; y++)
+		{
+			final int by = bounds.y + y;
+			final int dy = 2 * y + 1 - height;
+			for (int x = 0; x < width; x++)
+			{
+				final int bx = bounds.x + x;
+				final int dx = 2 * x + 1 - width;
+
+				final boolean inside = (long) dx * dx + (long) dy * dy <= radiusSquared
+					&& bx >= 0 && by >= 0 && bx < stride && by < bufferHeight;
+
+				imagePixels[y * width + x] = inside ? 0xFF000000 | pixels[by * stride + bx] : 0;
+			}
+		}
+
+		capturedAt = System.nanoTime();
+	}
+}
@@ -26,12 +26,16 @@ package com.compactorbs.widget.overlay;
 
 import com.compactorbs.CompactOrbsConstants.Widgets;
 import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
+import com.compactorbs.widget.layout.LayoutState;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.Point;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
@@ -42,16 +46,36 @@ public class MinimapOverlay extends Overlay
 {
 	private final Client client;
 	private final CompactOrbsManager manager;
+	private final Stats stats;
 
 	private final int componentId = Widgets.MinimapOverlay.UNIVERSE;
 	private final Rectangle parentBounds = new Rectangle();
 	private boolean revalidate;
 
+	//looked up once, dropped when the overlays interface is loaded/closed or the game state changes
+	private Widget widget;
+
+	//re-evaluated only when the layout state snapshot changes (config, tracked varbits, game state)
+	private LayoutState renderState;
+	private boolean shouldRender;
+
+	//the widgets canvas bounds, only re-read when its canvas location or size change
+	//(the canvas location follows any ancestor moving, which the relative position doesn't)
+	private final Rectangle widgetBounds = new Rectangle();
+	private int lastX = Integer.MIN_VALUE;
+	private int lastY;
+	private int lastWidth;
+	private int lastHeight;
+
+	//returned every frame, the renderer only reads its size
+	private final Dimension dimension = new Dimension();
+
 	@Inject
-	private MinimapOverlay(Client client, CompactOrbsManager manager)
+	private MinimapOverlay(Client client, CompactOrbsManager manager, Stats stats)
 	{
 		this.client = client;
 		this.manager = manager;
+		this.stats = stats;
 		setPriority(Overlay.PRIORITY_HIGHEST);
 		setLayer(OverlayLayer.UNDER_WIDGETS);
 		setPosition(OverlayPosition.CANVAS_TOP_RIGHT);
@@ -68,22 +92,31 @@ public class MinimapOverlay extends Overlay
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		final Widget widget = client.getWidget(componentId);
-		if (widget == null)
+		final long start = stats.start();
+		final Dimension size = renderWidget();
+		stats.stop(Timer.MINIMAP_OVERLAY, start);
+		return size;
+	}
+
+	private Dimension renderWidget()
+	{
+		//resize mode has no change event, so it stays a live read
+		if (manager.isFixedMode() || !shouldRender())
 		{
 			return null;
 		}
 
-		final Rectangle parent = getParentBounds(widget);
-		if (parent.isEmpty())
+		if (widget == null)
 		{
-			return null;
+			widget = client.getWidget(componentId);
+			if (widget == null)
+			{
+				return null;
+			}
 		}
 
-		if (manager.isFixedMode()
-			|| !manager.isMinimapOverlayEnabled()
-			|| !manager.isMinimapHidden()
-			|| manager.isMinimapMinimized())
+		final Widget parentWidget = widget.getParent();
+		if (parentWidget != null && (parentWidget.getWidth() <= 0 || parentWidget.getHeight() <= 0))
 		{
 			return null;
 		}
@@ -95,6 +128,7 @@ public class MinimapOverlay extends Overlay
 		if (getPreferredLocation() != null || getPreferredPosition() != null)
 		{
 			// The widget relative pos is relative to the parent
+			final Rectangle parent = getParentBounds(widget);
 			widget.setForcedPosition(bounds.x - parent.x, bounds.y - parent.y);
 		}
 		else
@@ -111,11 +145,56 @@ public class MinimapOverlay extends Overlay
 			// Update the overlay bounds to the widget bounds so the drag overlay renders correctly.
 			// Note OverlayManager uses original bounds reference to render managing mode and for
 			// onMouseOver, so update the existing bounds vs. replacing the reference.
-			Rectangle widgetBounds = widget.getBounds();
-			bounds.setBounds(widgetBounds.x, widgetBounds.y, widgetBounds.width, widgetBounds.height);
+			bounds.setBounds(getWidgetBounds(widget));
+		}
+
+		dimension.setSize(widget.getWidth(), widget.getHeight());
+		return dimension;
+	}
+
+	//drop the cached widget, the next frame looks it up again
+	public void invalidate()
+	{
+		widget = null;
+		lastX = Integer.MIN_VALUE;
+	}
+
+	private boolean shouldRender()
+	{
+		final LayoutState state = manager.getLayoutState();
+		if (state != renderState)
+		{
+			renderState = state;
+			shouldRender = state.has(LayoutState.MINIMAP_OVERLAY)
+				&& state.has(LayoutState.HIDE_MINIMAP)
+				&& !state.has(LayoutState.MINIMAP_MINIMIZED);
+		}
+
+		return shouldRender;
+	}
+
+	private Rectangle getWidgetBounds(Widget widget)
+	{
+		final Point location = widget.getCanvasLocation();
+		if (location == null)
+		{
+			lastX = Integer.MIN_VALUE;
+			widgetBounds.setBounds(widget.getBounds());
+			return widgetBounds;
+		}
+
+		if (location.getX() != lastX || location.getY() != lastY
+			|| widget.getWidth() != lastWidth || widget.getHeight() != lastHeight)
+		{
+			widgetBounds.setBounds(widget.getBounds());
+
+			lastX = location.getX();
+			lastY = location.getY();
+			lastWidth = widget.getWidth();
+			lastHeight = widget.getHeight();
 		}
 
-		return new Dimension(widget.getWidth(), widget.getHeight());
+		return widgetBounds;
 	}
 
 	private Rectangle getParentBounds(final Widget widget)
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.compactorbs.widget.overlay;
+
+import com.compactorbs.stats.Counter;
+import com.compactorbs.stats.Histogram;
+import com.compactorbs.stats.Stats;
+import com.compactorbs.stats.Timer;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+//developer overlay for the hot path stats, only shown while stats are enabled
+public class StatsOverlay extends OverlayPanel
+{
+	private final Stats stats;
+
+	@Inject
+	private StatsOverlay(Stats stats)
+	{
+		this.stats = stats;
+		setPosition(OverlayPosition.TOP_LEFT);
+	}
+
+	@Override
+	public String getName()
+	{
+		return "COMPACT_ORBS_STATS_OVERLAY";
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!stats.isEnabled())
+		{
+			return null;
+		}
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Compact Orbs (p50 / p99 / max)")
+			.build());
+
+		for (Timer timer : Timer.values())
+		{
+			Histogram histogram = stats.get(timer);
+			if (histogram.getCount() == 0)
+			{
+				continue;
+			}
+
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(timer.getName())
+				.right(Stats.micros(histogram.getPercentile(50)) + " / "
+					+ Stats.micros(histogram.getPercentile(99)) + " / "
+					+ Stats.micros(histogram.getMax()))
+				.build());
+		}
+
+		for (Counter counter : Counter.values())
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(counter.getName())
+				.right(String.valueOf(stats.get(counter)))
+				.build());
+		}
+
+		return super.render(graphics);
+	}
+}
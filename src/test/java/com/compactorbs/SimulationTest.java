@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs;
+
+import com.compactorbs.CompactOrbsConstants.ConfigKeys;
+import com.compactorbs.CompactOrbsConstants.Script;
+import com.compactorbs.fake.DisplayMode;
+import com.compactorbs.fake.FakeConfig;
+import com.compactorbs.widget.WidgetManager;
+import com.compactorbs.widget.elements.Minimap;
+import com.compactorbs.widget.elements.Orbs;
+import com.compactorbs.widget.layout.edit.Binding;
+import com.compactorbs.widget.layout.edit.BindingManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+//end to end session per display mode and layout, through the real plugin against the fake client
+//fails on layout drift (the same inputs producing a different widget tree), on the cached path landing somewhere a rebuild
+//from nothing wouldn't (stale plan, shadow or widget handles), or on edit-mode/shutdown leaking state
+@RunWith(Parameterized.class)
+public class SimulationTest
+{
+	private static final int STORM_SCRIPTS = 500;
+
+	@Parameterized.Parameter(0)
+	public DisplayMode displayMode;
+
+	@Parameterized.Parameter(1)
+	public CompactOrbsLayout layout;
+
+	private Simulation sim;
+	private CompactOrbsManager manager;
+	private Map<String, Object> loggedIn;
+
+	@Parameterized.Parameters(name = "{0}/{1}")
+	public static Collection<Object[]> sessions()
+	{
+		List<Object[]> sessions = new ArrayList<>();
+		for (DisplayMode displayMode : DisplayMode.values())
+		{
+			for (CompactOrbsLayout layout : CompactOrbsLayout.values())
+			{
+				sessions.add(new Object[]{displayMode, layout});
+			}
+		}
+		return sessions;
+	}
+
+	@Before
+	public void setUp() throws Exception
+	{
+		sim = new Simulation(new FakeConfig().set("layout", layout), displayMode);
+		manager = sim.get(CompactOrbsManager.class);
+
+		sim.startUp().login();
+		loggedIn = sim.getClient().snapshot();
+	}
+
+	//steady state, nothing the scripts react to has changed, but the vanilla ones put their targets back every time
+	@Test
+	public void scriptStormKeepsTheLayout()
+	{
+		for (int i = 0; i < STORM_SCRIPTS; i++)
+		{
+			sim.script(Script.TOPLEVEL_REDRAW)
+				.script(Script.ORBS_UPDATE_HEALTH)
+				.script(Script.ORBS_UPDATE_STORE)
+				.script(Script.WIKI_ICON_UPDATE)
+				.script(Script.GRAPHIC_SWAPPER)
+				.tick();
+		}
+		assertSameLayout("script storm");
+	}
+
+	@Test
+	public void worldHopKeepsTheLayout()
+	{
+		sim.hop();
+		assertSameLayout("world hop");
+	}
+
+	@Test
+	public void layoutRoundTripKeepsTheLayout()
+	{
+		CompactOrbsLayout other = layout == CompactOrbsLayout.VERTICAL ? CompactOrbsLayout.HORIZONTAL : CompactOrbsLayout.VERTICAL;
+		sim.config(ConfigKeys.ORB_LAYOUT, other).config(ConfigKeys.ORB_LAYOUT, layout);
+		assertSameLayout("layout round trip");
+	}
+
+	@Test
+	public void displayModeRoundTripKeepsTheLayout()
+	{
+		DisplayMode otherMode = displayMode == DisplayMode.MODERN ? DisplayMode.CLASSIC : DisplayMode.MODERN;
+		sim.displayMode(otherMode).displayMode(displayMode);
+		assertSameLayout("display mode round trip");
+	}
+
+	//a script moving a target the plugin doesn't index by script, the next remap has to read the widget again to put it back
+	@Test
+	public void scriptMovedTargetIsRestored()
+	{
+		assumeTrue("fixed mode doesn't lay out the minimap containers", displayMode != DisplayMode.FIXED);
+
+		final Widget container = sim.get(WidgetManager.class).getTargetWidget(displayMode == DisplayMode.MODERN
+			? Minimap.MODERN_MAP_CONTAINER : Minimap.CLASSIC_MAP_CONTAINER);
+		assertNotNull("no map container in resizable", container);
+
+		final int width = container.getOriginalWidth();
+		sim.onScript(Script.ORBS_UPDATE_HEALTH, () -> container.setOriginalWidth(width + 13))
+			.script(Script.ORBS_UPDATE_HEALTH)
+			.tick();
+
+		manager.rebuildLayout();
+		sim.tick();
+		assertEquals("remap skipped a target moved by a script", width, container.getOriginalWidth());
+	}
+
+	//the minimap isn't drawn while the compact layout replaces it, and is drawn again after shutdown
+	@Test
+	public void minimapRenderingFollowsVisibility() throws Exception
+	{
+		final Widget mask = sim.get(WidgetManager.class).getMinimapMask();
+		assertNotNull("no minimap mask in " + displayMode, mask);
+
+		assertTrue("minimap rendered under the compact layout",
+			!manager.isCompactLayout() || mask.getType() == WidgetType.LAYER);
+
+		sim.shutDown();
+		assertTrue("minimap rendering left removed after shutdown", mask.getType() != WidgetType.LAYER);
+	}
+
+	//edit-mode, with a drag where the layout allows free positioning
+	@Test
+	public void editModeLeavesNoHandlersBehind()
+	{
+		BindingManager bindings = sim.get(BindingManager.class);
+
+		sim.editMode(true);
+		assertFalse("edit-mode bound no handlers", bindings.all().isEmpty());
+
+		//editable in every display mode
+		final Widget handler = sim.handler(Orbs.HP_ORB_CONTAINER);
+		assertNotNull("no edit-mode handler for the hp orb", handler);
+		if (layout.isCustom())
+		{
+			sim.drag(Orbs.HP_ORB_CONTAINER, 12, 8, 10);
+		}
+
+		//left highlighted as the drag indicator when the session ends
+		handler.setOpacity(0);
+		handler.setTextColor(0xffff00);
+		sim.editMode(false);
+
+		assertFalse("edit-mode still enabled after closing", manager.isEditingLayout);
+		for (Binding binding : bindings.all())
+		{
+			assertTrue("edit-mode handler left visible after closing", binding.getHandler().isHidden());
+		}
+
+		//the handlers are kept hidden between sessions, while the map parent stays the same
+		sim.editMode(true);
+		assertSame("edit-mode handler recreated for the same parent", handler, sim.handler(Orbs.HP_ORB_CONTAINER));
+		assertEquals("pooled handler kept the indicator opacity", 255, handler.getOpacity());
+		assertEquals("pooled handler kept the indicator color", 0, handler.getTextColor());
+		sim.editMode(false);
+	}
+
+	@Test
+	public void shutdownLeavesNoPendingWork() throws Exception
+	{
+		sim.shutDown();
+		assertTrue("invokeLater work left after shutdown", sim.getHeadless().getClientThread().isEmpty());
+	}
+
+	//the same layout as after logging in, and the same one a rebuild without any of the plugins caches lays out
+	private void assertSameLayout(String step)
+	{
+		final Map<String, Object> cached = sim.getClient().snapshot();
+		assertSameSnapshot(step + " changed the layout", loggedIn, cached);
+
+		sim.rebuild();
+		assertSameSnapshot(step + " differs from a full rebuild", cached, sim.getClient().snapshot());
+	}
+
+	//names the first few differences, the full snapshots are too large to read in a failure
+	private static void assertSameSnapshot(String message, Map<String, Object> expected, Map<String, Object> actual)
+	{
+		if (expected.equals(actual))
+		{
+			return;
+		}
+
+		StringBuilder failure = new StringBuilder(message);
+		int shown = 0;
+		for (Map.Entry<String, Object> entry : expected.entrySet())
+		{
+			Object value = actual.get(entry.getKey());
+			if (!Objects.equals(entry.getValue(), value) && shown++ < 5)
+			{
+				failure.append("\n  ").append(entry.getKey()).append(' ').append(entry.getValue()).append(" -> ").append(value);
+			}
+		}
+
+		for (String key : actual.keySet())
+		{
+			if (!expected.containsKey(key) && shown++ < 5)
+			{
+				failure.append("\n  added ").append(key).append(" = ").append(actual.get(key));
+			}
+		}
+
+		fail(failure.toString());
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025, cue <https://github.com/its-cue>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.compactorbs.widget.layout.edit;
+
+import com.compactorbs.CompactOrbsManager;
+import com.compactorbs.fake.DirectWidget;
+import com.compactorbs.fake.FakeClient;
+import com.compactorbs.fake.FakeConfig;
+import com.compactorbs.fake.HeadlessPlugin;
+import com.compactorbs.widget.TargetWidget;
+import com.compactorbs.widget.elements.Minimap;
+import com.compactorbs.widget.elements.Orbs;
+import java.lang.management.ManagementFactory;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetPositionMode;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+//a steady-state drag (the container bounds read, the handler index built) shouldn't allocate per client tick
+//bounded at less than a byte per tick rather than exactly 0, the allocation counter's granularity and whether the
+//jit's escape analysis removed every temporary differ between jvms
+//the drag path runs against DirectWidgets, so the proxy fakes' boxing doesn't hide what the drag itself allocates
+public class DragAllocationTest
+{
+	private static final int WARMUP_TICKS = 20_000;
+	private static final int DRAG_TICKS = 1000;
+
+	private DragListener dragListener;
+	private DragState dragState;
+	private FakeClient client;
+	private Widget dragged;
+
+	@Before
+	public void setUp()
+	{
+		HeadlessPlugin plugin = new HeadlessPlugin(new FakeConfig());
+		client = plugin.getClient();
+
+		CompactOrbsManager manager = plugin.get(CompactOrbsManager.class);
+		manager.enableOrbSwapping = false;
+		manager.refreshConfigState();
+		manager.refreshClientState();
+
+		//vanilla layout, the handlers live in the map container and their orbs in the orbs universe
+		DirectWidget mapParent = DirectWidget.create(client.getDisplayMode().getMapContainer(), null, FakeClient.MAP_WIDTH, FakeClient.MAP_HEIGHT);
+		DirectWidget orbsUniverse = DirectWidget.create(Minimap.ORBS_UNIVERSE.getComponentId(), mapParent, FakeClient.MAP_WIDTH, FakeClient.MAP_HEIGHT);
+		client.replaceWidget(mapParent.getId(), mapParent);
+		client.replaceWidget(orbsUniverse.getId(), orbsUniverse);
+
+		BindingManager bindingManager = plugin.get(BindingManager.class);
+		Widget[] handlers = new Widget[Orbs.SWAPPABLE_ORBS.length];
+		for (int i = 0; i < Orbs.SWAPPABLE_ORBS.length; i++)
+		{
+			TargetWidget orb = Orbs.SWAPPABLE_ORBS[i];
+
+			DirectWidget bound = DirectWidget.create(orb.getComponentId(), orbsUniverse, 30, 30);
+			bound.setOriginalX(i * 35).setOriginalY(i * 20).setXPositionMode(WidgetPositionMode.ABSOLUTE_RIGHT);
+			bound.revalidate();
+			client.replaceWidget(orb.getComponentId(), bound);
+
+			Widget handler = DirectWidget.create(mapParent.getId(), mapParent, 30, 30)
+				.setOriginalX(bound.getOriginalX())
+				.setOriginalY(bound.getOriginalY())
+				.setXPositionMode(WidgetPositionMode.ABSOLUTE_RIGHT);
+			handler.revalidate();
+			handlers[i] = handler;
+
+			bindingManager.bind(handler, orb, null, null, null, false);
+		}
+		mapParent.setChildren(handlers);
+
+		dragListener = plugin.get(DragListener.class);
+		dragState = plugin.get(DragState.class);
+		dragState.boundIndicator = DirectWidget.create(mapParent.getId(), mapParent, 0, 0);
+		dragged = handlers[0];
+	}
+
+	@Test
+	public void steadyStateDragDoesNotAllocate()
+	{
+		assumeTrue("no com.sun.management.ThreadMXBean", ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue("thread allocation counting isn't supported", threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		client.setDraggedWidget(dragged);
+		dragState.setOrigin(0, 0);
+
+		//starts the drag and lets the JIT settle, the measured ticks are the same drag
+		drag(WARMUP_TICKS);
+
+		final long thread = Thread.currentThread().getId();
+
+		//what reading the counter twice costs on its own
+		long overhead = threads.getThreadAllocatedBytes(thread);
+		overhead = threads.getThreadAllocatedBytes(thread) - overhead;
+
+		final long before = threads.getThreadAllocatedBytes(thread);
+		drag(DRAG_TICKS);
+		final long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+
+		//a single object per tick would already be 16+ bytes each
+		assertTrue("bytes allocated over " + DRAG_TICKS + " drag ticks: " + allocated, allocated < DRAG_TICKS);
+	}
+
+	//across the map container and back, so the indicator moves between handlers
+	private void drag(int ticks)
+	{
+		for (int tick = 0; tick < ticks; tick++)
+		{
+			final int step = tick % (FakeClient.MAP_WIDTH / 5);
+			dragState.setCurrent(step * 5, (step * 7) % FakeClient.MAP_HEIGHT);
+			dragListener.updateDrag();
+		}
+	}
+}